@@ -97,4 +97,12 @@ public @interface Command {
      * @deprecated please use {@link CommandParam}
      */
     String[] requiredParams() default "";
+
+    /**
+     * The time in milliseconds the command has to finish sending its responses before it is cancelled,
+     * -1 will use the server's default and 0 will let the command run forever.
+     *
+     * @return long
+     */
+    long timeout() default -1;
 }
@@ -69,6 +69,18 @@ public interface ICommand {
     String getType();
 
 
+    /**
+     * The time in milliseconds the command has to finish sending its responses before it is cancelled,
+     * -1 will use the server's default and 0 will let the command run forever.
+     *
+     * @return long
+     * @since 2.1.7
+     */
+    default long getTimeout() {
+        return -1;
+    }
+
+
     /**
      * This is the execution point for the command.
      *
@@ -99,4 +99,19 @@ public interface ICommandDispatcher {
     void registerGlobalMiddleware(ICommandMiddleware middleware);
 
     void registerPluginMiddleware(IPlugin plugin, ICommandMiddleware middleware);
+
+    /**
+     * This will register middleware that runs before every command without blocking the event thread.
+     *
+     * @param middleware - The middleware.
+     */
+    void registerGlobalAsyncMiddleware(IAsyncCommandMiddleware middleware);
+
+    /**
+     * This will register middleware that runs before the plugin's commands without blocking the event thread.
+     *
+     * @param plugin     - The plugin the middleware belongs to.
+     * @param middleware - The middleware.
+     */
+    void registerPluginAsyncMiddleware(IPlugin plugin, IAsyncCommandMiddleware middleware);
 }
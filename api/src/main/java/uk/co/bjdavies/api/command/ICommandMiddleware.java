@@ -25,10 +25,25 @@
 
 package uk.co.bjdavies.api.command;
 
+import reactor.core.publisher.Mono;
+
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
  */
-public interface ICommandMiddleware {
+@FunctionalInterface
+public interface ICommandMiddleware extends IAsyncCommandMiddleware {
     boolean onExecute(ICommandContext context);
+
+    /**
+     * This will adapt the synchronous middleware, the dispatcher calls {@link #onExecute(ICommandContext)} directly
+     * when it can.
+     *
+     * @param context - The command context.
+     * @return Mono
+     */
+    @Override
+    default Mono<Boolean> onExecuteAsync(ICommandContext context) {
+        return Mono.fromSupplier(() -> onExecute(context));
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.api.command;
+
+import discord4j.core.object.entity.Message;
+
+import java.util.function.LongFunction;
+
+/**
+ * This will resolve the command prefix a message has to start with, guilds can override the config's prefix by
+ * providing their prefixes through {@link #setGuildPrefixes(LongFunction)}.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public interface IPrefixResolver {
+
+    /**
+     * This will return the prefix for the guild the message was sent in, or the config's prefix for direct messages
+     * and guilds that have not overridden it.
+     *
+     * @param message - The message.
+     * @return String
+     */
+    String getPrefix(Message message);
+
+    /**
+     * This will swap the config's prefix at the start of the text for the prefix of the message's guild, this is
+     * used for usage and example text that is generated with the config's prefix.
+     *
+     * @param message - The message the text is a reply to, null for commands that did not come from Discord.
+     * @param text    - The text e.g. "!help (value?)"
+     * @return String
+     */
+    String localize(Message message, String text);
+
+    /**
+     * This will set where the prefix overrides of guilds are read from, this is called for every message so it
+     * must not block.
+     *
+     * @param guildPrefixes - Guild id -> prefix, null if the guild has not overridden the prefix.
+     */
+    void setGuildPrefixes(LongFunction<String> guildPrefixes);
+}
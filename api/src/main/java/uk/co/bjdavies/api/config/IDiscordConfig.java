@@ -38,7 +38,7 @@ public interface IDiscordConfig {
     String getToken();
 
     /**
-     * This will return the command prefix.
+     * This will return the command prefix, guilds can override this with the prefix command.
      *
      * @return String
      */
@@ -58,4 +58,22 @@ public interface IDiscordConfig {
      * @return String
      */
     String getShutdownPassword();
+
+    /**
+     * This is the time in milliseconds between "Command Not Found" replies in the same channel, misses within that
+     * time are ignored. 0 will reply to every miss.
+     * Default: 5000
+     *
+     * @return long
+     */
+    long getCommandNotFoundCooldown();
+
+    /**
+     * This is the max amount of messages that can be waiting to be sent to a channel, messages over this are rejected.
+     * 0 or less will not limit the queue.
+     * Default: 50
+     *
+     * @return int
+     */
+    int getOutboundQueueCapacity();
 }
@@ -46,4 +46,52 @@ public interface ISystemConfig {
      * @return boolean
      */
     boolean isDebugOn();
+
+
+    /**
+     * This will return how many threads the commands of a single namespace can use at once, 0 will run commands on
+     * the thread that received the message.
+     * Default: 4
+     *
+     * @return int
+     */
+    int getCommandThreadsPerNamespace();
+
+
+    /**
+     * This will return how many commands of a single namespace can be waiting for a thread before new ones are
+     * rejected. Each thread has its own queue so this is split across the namespace's threads, rounded up to a
+     * multiple of {@link #getCommandThreadsPerNamespace()}.
+     * Default: 100
+     *
+     * @return int
+     */
+    int getCommandQueuePerNamespace();
+
+
+    /**
+     * This will return the message that is sent when a command is rejected because its namespace is overloaded.
+     *
+     * @return String
+     */
+    String getCommandOverloadedMessage();
+
+
+    /**
+     * This will return the time in milliseconds a command has to finish sending its responses before it is
+     * cancelled, unless the command sets its own timeout. 0 will let commands run forever.
+     * Default: 60000
+     *
+     * @return long
+     */
+    long getCommandTimeout();
+
+
+    /**
+     * This will return the message that is sent when a command is cancelled for taking too long, an empty message
+     * will not be sent.
+     *
+     * @return String
+     */
+    String getCommandTimeoutMessage();
 }
@@ -41,6 +41,22 @@ public interface IVariableContainer {
      */
     void addAllFrom(Class<?> clazz);
 
+    /**
+     * This will add all the variables (@Variable.class) of a plugin under its namespace so they can be used as
+     * $(namespace.variable), the plugin instance is used as the holder of the variables.
+     *
+     * @param namespace - The name of the plugin.
+     * @param holder    - The plugin instance.
+     */
+    void addAllFrom(String namespace, Object holder);
+
+    /**
+     * This will remove all the variables of a plugin.
+     *
+     * @param namespace - The name of the plugin.
+     */
+    void removeNamespace(String namespace);
+
     /**
      * This will add a method to the container.
      *
@@ -47,6 +47,11 @@ import java.lang.annotation.Target;
  * }}
  * <p>
  * You would then declare this in a command as $(printString(Hi))
+ * <p>
+ * Variables declared in a plugin are used with the name of the plugin e.g. $(pluginName.printString(Hi))
+ * <p>
+ * A method can also return a {@link reactor.core.publisher.Mono} if it needs to do something slow, all the variables
+ * in a response are resolved at the same time.
  *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
@@ -54,4 +59,11 @@ import java.lang.annotation.Target;
 @Target({ElementType.METHOD, ElementType.FIELD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Variable {
+    /**
+     * This is the time in milliseconds the value of a variable function is kept for each set of arguments, so an
+     * expensive function is not run for every response. 0 will not cache the value.
+     *
+     * @return long
+     */
+    long ttl() default 0;
 }
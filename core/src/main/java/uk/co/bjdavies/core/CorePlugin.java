@@ -26,16 +26,21 @@
 package uk.co.bjdavies.core;
 
 import com.google.inject.Inject;
+import discord4j.common.util.Snowflake;
 import discord4j.core.event.domain.lifecycle.ReadyEvent;
+import discord4j.core.object.entity.Member;
 import discord4j.core.object.entity.channel.TextChannel;
 import discord4j.core.spec.EmbedCreateSpec;
+import discord4j.rest.util.Permission;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.command.Command;
 import uk.co.bjdavies.api.command.CommandParam;
 import uk.co.bjdavies.api.command.ICommandContext;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
+import uk.co.bjdavies.api.command.IPrefixResolver;
 import uk.co.bjdavies.api.config.IDiscordConfig;
 import uk.co.bjdavies.api.db.Model;
 import uk.co.bjdavies.api.db.WhereStatement;
@@ -95,12 +100,18 @@ public class CorePlugin implements IPluginEvents {
 
     private final AnnouncementService announcementService;
 
+    private final GuildPrefixService guildPrefixService;
+
+    private final IPrefixResolver prefixResolver;
+
     @Inject
     public CorePlugin(ICommandDispatcher commandDispatcher, IApplication application, IDiscordConfig config) {
         this.commandDispatcher = commandDispatcher;
         this.application = application;
         this.config = config;
         announcementService = application.get(AnnouncementService.class);
+        guildPrefixService = application.get(GuildPrefixService.class);
+        prefixResolver = application.get(IPrefixResolver.class);
     }
 
     @Override
@@ -111,9 +122,13 @@ public class CorePlugin implements IPluginEvents {
     @Override
     public void onBoot(IPluginSettings settings) {
         log.info("Booting Core Plugin");
-        commandDispatcher.registerGlobalMiddleware(context ->
-          Ignore.where("channelId", context.getMessage().getChannelId().asString()).doesntExist()
-            || context.getCommandName().equals("listen"));
+        guildPrefixService.load();
+        prefixResolver.setGuildPrefixes(guildPrefixService::getOverride);
+        commandDispatcher.registerGlobalAsyncMiddleware(context -> context.getCommandName().equals("listen")
+          ? Mono.just(true)
+          : Mono.fromCallable(() -> Ignore.where("channelId", context.getMessage().getChannelId().asString())
+          .doesntExist())
+          .subscribeOn(Schedulers.boundedElastic()));
         announcementService.start();
         IDiscordFacade discordFacade = application.get(IDiscordFacade.class);
         discordFacade.registerEventHandler(ReadyEvent.class, (r) -> {
@@ -157,6 +172,46 @@ public class CorePlugin implements IPluginEvents {
         commandContext.getCommandResponse().sendString("BabbleBot is now ignoring this channel");
     }
 
+    @Command(description = "Change the command prefix for this server.", exampleValue = "?")
+    @CommandParam(value = "reset")
+    public Mono<String> prefix(ICommandContext commandContext) {
+        Optional<Snowflake> guildId = commandContext.getMessage().getGuildId();
+        if (guildId.isEmpty()) {
+            return Mono.just("You can only change the prefix inside a server.");
+        }
+
+        return commandContext.getMessage().getAuthorAsMember()
+          .flatMap(Member::getBasePermissions)
+          .flatMap(permissions -> {
+              if (!permissions.contains(Permission.MANAGE_GUILD)) {
+                  return Mono.just("You need the Manage Server permission to change the prefix.");
+              }
+
+              if (commandContext.hasParameter("reset")) {
+                  return Mono.fromCallable(() -> guildPrefixService.resetPrefix(guildId.get().asLong())
+                    ? "The prefix for this server has been reset to: " + config.getCommandPrefix()
+                    : "This server is already using the default prefix.")
+                    .subscribeOn(Schedulers.boundedElastic());
+              }
+
+              String prefix = commandContext.getValue();
+              if (prefix.isEmpty() || prefix.chars().anyMatch(Character::isWhitespace)) {
+                  return Mono.just("Please provide a prefix without any spaces.");
+              }
+
+              if (prefix.length() > GuildPrefixService.MAX_PREFIX_LENGTH) {
+                  return Mono.just("The prefix can be at most " + GuildPrefixService.MAX_PREFIX_LENGTH
+                    + " characters long.");
+              }
+
+              String setBy = commandContext.getMessage().getAuthor().map(u -> u.getId().asString()).orElse("");
+              return Mono.fromCallable(() -> {
+                  guildPrefixService.setPrefix(guildId.get().asLong(), prefix, setBy);
+                  return "The prefix for this server is now: " + prefix;
+              }).subscribeOn(Schedulers.boundedElastic());
+          });
+    }
+
     @Command(aliases = {"register-announcement-channel",
       "register-ac"}, description = "Register the channel where the command is ran as a announcement channel")
     public Mono<String> register(ICommandContext commandContext) {
@@ -229,6 +284,7 @@ public class CorePlugin implements IPluginEvents {
     @CommandParam(value = "cmd", canBeEmpty = false,
       exampleValue = "ignore")
     public Mono<Consumer<EmbedCreateSpec>> help(ICommandContext commandContext) {
+        String prefix = prefixResolver.getPrefix(commandContext.getMessage());
 
         if (commandContext.hasNonEmptyParameter("cmd") || !commandContext.getValue().equals("")) {
             String command = commandContext.hasNonEmptyParameter("cmd")
@@ -240,7 +296,7 @@ public class CorePlugin implements IPluginEvents {
                 spec.setTimestamp(Instant.now());
                 AtomicBoolean hasFoundCommand = new AtomicBoolean(false);
                 String namespace = commandDispatcher.getNamespaceFromCommandName(command);
-                String alias = command.replace(namespace, "");
+                String alias = command.substring(namespace.length());
                 log.info(command);
                 commandDispatcher.getCommandByAlias(namespace, alias, commandContext.getType())
                   .subscribe(cmd -> {
@@ -258,7 +314,7 @@ public class CorePlugin implements IPluginEvents {
                       spec.setAuthor(author, null, null);
                       spec.setTitle(alias.substring(0, 1).toUpperCase() + alias.substring(1) + " Command");
                       spec.addField("Key", "```css\n" +
-                        "[" + config.getCommandPrefix() +
+                        "[" + prefix +
                         "(alias|alias2....)] : This is displaying the commands aliases.\n" +
                         "[-(param?)]: This is an optional empty parameter\n" +
                         "[-(param*)]: Required empty parameter\n" +
@@ -268,14 +324,15 @@ public class CorePlugin implements IPluginEvents {
                         "[(value*)]: Required value\n" +
                         "```", false);
 
-                      spec.addField("Usage", "```\n" + cmd.getUsage() + "\n```", false);
+                      spec.addField("Usage", "```\n"
+                        + prefixResolver.localize(commandContext.getMessage(), cmd.getUsage()) + "\n```", false);
                       StringBuilder examples = new StringBuilder("```md\n");
                       AtomicInteger index = new AtomicInteger(1);
                       Arrays.stream(cmd.getExamples()).forEach(e -> {
                           examples.append("[")
                             .append(index.getAndIncrement())
                             .append("]: ")
-                            .append(e)
+                            .append(prefixResolver.localize(commandContext.getMessage(), e))
                             .append("\n");
                       });
                       examples.append("```");
@@ -291,15 +348,15 @@ public class CorePlugin implements IPluginEvents {
             return Mono.just(spec -> {
                 spec.setTitle("Commands");
                 spec.setDescription(
-                  "This is all the commands available to babblebot. Please use **!help** {command-name} for more " +
-                    "information");
+                  "This is all the commands available to babblebot. Please use **" + prefix + "help** {command-name} " +
+                    "for more information");
                 spec.setTimestamp(Instant.now());
 
                 commandDispatcher.getRegisteredNamespaces().subscribe(namespace -> {
                     AtomicReference<StringBuilder> sb = new AtomicReference<>(new StringBuilder("```css\n"));
                     commandDispatcher.getCommandsFromNamespace(namespace)
                       .subscribe(cmd -> sb.get().append("[")
-                        .append(config.getCommandPrefix())
+                        .append(prefix)
                         .append(namespace)
                         .append(cmd.getAliases()[0])
                         .append("]: ")
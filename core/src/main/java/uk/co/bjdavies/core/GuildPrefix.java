@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.core;
+
+import lombok.Getter;
+import lombok.Setter;
+import uk.co.bjdavies.api.db.Model;
+import uk.co.bjdavies.api.db.fields.IntField;
+import uk.co.bjdavies.api.db.fields.PrimaryField;
+import uk.co.bjdavies.api.db.fields.StringField;
+import uk.co.bjdavies.api.db.fields.Unique;
+
+/**
+ * This is a command prefix that overrides the prefix in the config for a guild.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class GuildPrefix extends Model {
+
+    @IntField
+    @PrimaryField
+    @Getter
+    private int id;
+
+    @StringField(charLimit = 255)
+    @Unique
+    @Getter
+    @Setter
+    private String guildId;
+
+    @StringField(charLimit = 255)
+    @Getter
+    @Setter
+    private String prefix;
+
+    @StringField(charLimit = 255)
+    @Getter
+    @Setter
+    private String setBy;
+
+    @Override
+    public String toString() {
+        return "GuildPrefix{" +
+                "id=" + id +
+                ", guildId='" + guildId + '\'' +
+                ", prefix='" + prefix + '\'' +
+                ", setBy='" + setBy + '\'' +
+                '}';
+    }
+}
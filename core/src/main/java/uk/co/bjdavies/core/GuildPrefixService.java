@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.core;
+
+import com.google.inject.Singleton;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+import lombok.extern.slf4j.Slf4j;
+import uk.co.bjdavies.api.command.IPrefixResolver;
+
+import java.util.Optional;
+
+/**
+ * This will store the command prefixes guilds have overridden the prefix in the config with.
+ * <p>
+ * The overrides are loaded from the database on boot and kept in memory so resolving a prefix for a message never
+ * hits the database, the map is copied on write as prefixes are rarely changed.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Slf4j
+@Singleton
+public class GuildPrefixService {
+
+    /**
+     * This is the max length of a prefix a guild can set.
+     */
+    public static final int MAX_PREFIX_LENGTH = 10;
+
+    /**
+     * Key: Guild id -> prefix, this must not be modified once published.
+     */
+    private volatile LongObjectMap<String> prefixes = new LongObjectHashMap<>();
+
+    /**
+     * This will load every prefix override from the database.
+     */
+    public synchronized void load() {
+        LongObjectMap<String> loaded = new LongObjectHashMap<>();
+        GuildPrefix.all().stream().map(p -> (GuildPrefix) p)
+          .forEach(p -> loaded.put(Long.parseLong(p.getGuildId()), p.getPrefix()));
+        prefixes = loaded;
+        log.info("Loaded " + loaded.size() + " guild prefixes");
+    }
+
+    /**
+     * This will return the prefix a guild has overridden the config's prefix with, this is given to the
+     * {@link IPrefixResolver} so the server can resolve prefixes without depending on this plugin.
+     *
+     * @param guildId - The id of the guild.
+     * @return String - The prefix or null if the guild has not overridden it.
+     */
+    public String getOverride(long guildId) {
+        return prefixes.get(guildId);
+    }
+
+    /**
+     * This will override the prefix for a guild.
+     *
+     * @param guildId - The id of the guild.
+     * @param prefix  - The new prefix.
+     * @param setBy   - The id of the user who changed it.
+     */
+    public synchronized void setPrefix(long guildId, String prefix, String setBy) {
+        Optional<GuildPrefix> model = GuildPrefix.where("guildId", String.valueOf(guildId)).first();
+        GuildPrefix guildPrefix = model.orElseGet(GuildPrefix::new);
+        guildPrefix.setGuildId(String.valueOf(guildId));
+        guildPrefix.setPrefix(prefix);
+        guildPrefix.setSetBy(setBy);
+        guildPrefix.save();
+
+        LongObjectMap<String> updated = new LongObjectHashMap<>(prefixes.size() + 1);
+        updated.putAll(prefixes);
+        updated.put(guildId, prefix);
+        prefixes = updated;
+    }
+
+    /**
+     * This will remove the prefix override for a guild so it uses the config's prefix again.
+     *
+     * @param guildId - The id of the guild.
+     * @return boolean - false if the guild did not have an override.
+     */
+    public synchronized boolean resetPrefix(long guildId) {
+        Optional<GuildPrefix> model = GuildPrefix.where("guildId", String.valueOf(guildId)).first();
+        model.ifPresent(GuildPrefix::delete);
+
+        if (!prefixes.containsKey(guildId)) {
+            return model.isPresent();
+        }
+
+        LongObjectMap<String> updated = new LongObjectHashMap<>(prefixes.size());
+        updated.putAll(prefixes);
+        updated.remove(guildId);
+        prefixes = updated;
+        return true;
+    }
+}
@@ -41,6 +41,7 @@ import uk.co.bjdavies.config.ConfigModule;
 import uk.co.bjdavies.core.CorePlugin;
 import uk.co.bjdavies.db.DB;
 import uk.co.bjdavies.discord.DiscordModule;
+import uk.co.bjdavies.discord.OutboundMessageDispatcher;
 import uk.co.bjdavies.http.WebServer;
 import uk.co.bjdavies.plugins.PluginModule;
 import uk.co.bjdavies.plugins.importing.ImportPluginFactory;
@@ -97,7 +98,7 @@ public class Application implements IApplication {
         }
         ApplicationModule applicationModule = new ApplicationModule(this);
         ConfigModule configModule = new ConfigModule("config.json"); //TODO: use commandLine Arguments to fulfill this. e.g. -bconf.configLocation=config.json
-        CommandModule commandModule = new CommandModule();
+        CommandModule commandModule = new CommandModule(configModule.getConfig());
         VariableModule variableModule = new VariableModule();
         PluginModule pluginModule = new PluginModule(this);
 
@@ -223,6 +224,7 @@ public class Application implements IApplication {
             getPluginContainer().shutDownPlugins();
             IDiscordFacade facade = get(IDiscordFacade.class);
             facade.logoutBot().block();
+            get(OutboundMessageDispatcher.class).shutdown();
             webServer.stop();
 
             Runtime.getRuntime().runFinalization();
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This will only allow one action per channel within the cooldown, e.g. the "Command Not Found" reply.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class ChannelThrottle {
+
+    private static final int MAX_CHANNELS = 4096;
+
+    private final Map<Long, Long> lastAcquired = new ConcurrentHashMap<>();
+
+    private final long cooldownNanos;
+
+    /**
+     * @param cooldownMillis - The time between actions in a channel, 0 will turn off the throttle.
+     */
+    public ChannelThrottle(long cooldownMillis) {
+        this.cooldownNanos = cooldownMillis * 1_000_000L;
+    }
+
+    /**
+     * This will return true if the channel is allowed to perform the action now.
+     *
+     * @param channelId - The id of the channel.
+     * @return boolean
+     */
+    public boolean tryAcquire(long channelId) {
+        if (cooldownNanos <= 0) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        if (lastAcquired.size() >= MAX_CHANNELS) {
+            lastAcquired.values().removeIf(last -> now - last >= cooldownNanos);
+        }
+
+        boolean[] acquired = {false};
+        lastAcquired.compute(channelId, (id, last) -> {
+            if (last == null || now - last >= cooldownNanos) {
+                acquired[0] = true;
+                return now;
+            }
+            return last;
+        });
+        return acquired[0];
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import uk.co.bjdavies.api.command.ICommand;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is a lookup table of every command alias in the dispatcher.
+ * Key: Namespace -> lowercased alias -> the commands using the alias
+ * <p>
+ * This is so the dispatcher does not have to scan every command inside a namespace each time a message comes in.
+ * The index is built by {@link CommandRegistry} and is not changed once the registry has been published.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class CommandAliasIndex {
+
+    private final Map<String, Map<String, TypedCommand[]>> index;
+
+    public CommandAliasIndex() {
+        this.index = new HashMap<>();
+    }
+
+    /**
+     * This will add all the aliases of a command into the index.
+     * If an alias is already taken by a command of the same type then the first command will be kept.
+     *
+     * @param namespace - The namespace of the command.
+     * @param command   - The command you wish to add.
+     */
+    public void add(String namespace, ICommand command) {
+        add(namespace, new TypedCommand(command));
+    }
+
+    /**
+     * This will add all the aliases of a command that has already had its types parsed into the index.
+     *
+     * @param namespace    - The namespace of the command.
+     * @param typedCommand - The command you wish to add.
+     */
+    void add(String namespace, TypedCommand typedCommand) {
+        Map<String, TypedCommand[]> aliases = index.computeIfAbsent(namespace, k -> new HashMap<>());
+        for (String alias : typedCommand.getCommand().getAliases()) {
+            aliases.merge(alias.toLowerCase(), new TypedCommand[]{typedCommand}, CommandAliasIndex::append);
+        }
+    }
+
+    /**
+     * This will keep commands of the type "All" at the end so a command made for a type is found first.
+     */
+    private static TypedCommand[] append(TypedCommand[] commands, TypedCommand[] command) {
+        TypedCommand[] merged = Arrays.copyOf(commands, commands.length + 1);
+        int i = merged.length - 1;
+        if (!command[0].isAll()) {
+            while (i > 0 && merged[i - 1].isAll()) {
+                merged[i] = merged[i - 1];
+                i--;
+            }
+        }
+        merged[i] = command[0];
+        return merged;
+    }
+
+    /**
+     * This will return the command that matches the alias and type, a command with the type "All" will match any
+     * type.
+     *
+     * @param namespace - The namespace of the command.
+     * @param alias     - The alias of the command (lowercased).
+     * @param type      - The type of the command, see {@link CommandTypes#bitOf(String)}.
+     * @return ICommand or null if there is no command.
+     */
+    public ICommand find(String namespace, String alias, long type) {
+        Map<String, TypedCommand[]> aliases = index.get(namespace);
+        if (aliases == null) {
+            return null;
+        }
+
+        TypedCommand[] commands = aliases.get(alias);
+        if (commands == null) {
+            return null;
+        }
+
+        for (TypedCommand command : commands) {
+            if (command.supports(type)) {
+                return command.getCommand();
+            }
+        }
+        return null;
+    }
+}
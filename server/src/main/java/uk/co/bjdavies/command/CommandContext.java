@@ -31,6 +31,7 @@ import lombok.extern.log4j.Log4j2;
 import uk.co.bjdavies.api.command.ICommandContext;
 import uk.co.bjdavies.api.command.ICommandResponse;
 import uk.co.bjdavies.api.discord.IDiscordCommandUtil;
+import uk.co.bjdavies.command.parser.ParameterTable;
 import uk.co.bjdavies.discord.DiscordCommandUtil;
 
 import java.util.Map;
@@ -42,9 +43,9 @@ import java.util.Map;
 @Log4j2
 public class CommandContext implements ICommandContext {
     /**
-     * This is the Map for all the command's paramaters.
+     * This is the table for all the command's paramaters.
      */
-    private final Map<String, String> parameters;
+    private final ParameterTable parameters;
 
 
     /**
@@ -64,15 +65,20 @@ public class CommandContext implements ICommandContext {
      */
     private final String type;
 
+    /**
+     * This is the bit of the type, see {@link CommandTypes}.
+     */
+    private final long typeBit;
+
     /**
      * This is used for discord messages.
      */
     private Message message;
 
     /**
-     * This is the response system for babblebot.
+     * This is the response system for babblebot, it is created the first time it is used.
      */
-    private final ICommandResponse commandResponse;
+    private volatile ICommandResponse commandResponse;
 
 
     /**
@@ -85,10 +91,10 @@ public class CommandContext implements ICommandContext {
      */
     public CommandContext(String commandName, Map<String, String> parameters, String value, String type) {
         this.commandName = commandName;
-        this.parameters = parameters;
+        this.parameters = ParameterTable.of(parameters);
         this.value = value;
         this.type = type;
-        commandResponse = new CommandResponse();
+        this.typeBit = CommandTypes.bitOf(type);
     }
 
 
@@ -102,12 +108,42 @@ public class CommandContext implements ICommandContext {
      * @param message     - IMessage of which was created when the message was sent.
      */
     public CommandContext(String commandName, Map<String, String> parameters, String value, String type, Message message) {
+        this(commandName, ParameterTable.of(parameters), value, type, message);
+    }
+
+
+    /**
+     * This is the CommandContext Constructor, the parameters are only turned into Strings when they are used.
+     *
+     * @param commandName - The name of the command.
+     * @param parameters  - The command's parameters as offsets into the message.
+     * @param value       - The value of the command (if any).
+     * @param type        - The type of the command.
+     * @param message     - IMessage of which was created when the message was sent.
+     */
+    public CommandContext(String commandName, ParameterTable parameters, String value, String type, Message message) {
+        this(commandName, parameters, value, type, CommandTypes.bitOf(type), message);
+    }
+
+
+    /**
+     * This is the CommandContext Constructor for parsers that already know the bit of their type.
+     *
+     * @param commandName - The name of the command.
+     * @param parameters  - The command's parameters as offsets into the message.
+     * @param value       - The value of the command (if any).
+     * @param type        - The type of the command.
+     * @param typeBit     - The bit of the type, see {@link CommandTypes}.
+     * @param message     - IMessage of which was created when the message was sent.
+     */
+    public CommandContext(String commandName, ParameterTable parameters, String value, String type, long typeBit,
+                          Message message) {
         this.commandName = commandName;
         this.parameters = parameters;
         this.value = value;
         this.type = type;
+        this.typeBit = typeBit;
         this.message = message;
-        commandResponse = new CommandResponse();
     }
 
 
@@ -118,12 +154,12 @@ public class CommandContext implements ICommandContext {
      * @return String
      */
     public String getParameter(String name) {
-        if (!parameters.containsKey(name)) {
+        String parameter = parameters.get(name);
+        if (parameter == null) {
             log.error("Parameter not found.");
-        } else {
-            return parameters.get(name);
+            return "";
         }
-        return "";
+        return parameter;
     }
 
 
@@ -134,12 +170,12 @@ public class CommandContext implements ICommandContext {
      * @return boolean
      */
     public boolean hasParameter(String name) {
-        return parameters.containsKey(name);
+        return parameters.contains(name);
     }
 
     @Override
     public boolean hasNonEmptyParameter(String name) {
-        return hasParameter(name) && !getParameter(name).equals("");
+        return parameters.containsNonEmpty(name);
     }
 
 
@@ -170,6 +206,15 @@ public class CommandContext implements ICommandContext {
         return type;
     }
 
+    /**
+     * This returns the bit of the command's type, see {@link CommandTypes}.
+     *
+     * @return long
+     */
+    public long getTypeBit() {
+        return typeBit;
+    }
+
     @Override
     public IDiscordCommandUtil getCommandUtils() {
         return new DiscordCommandUtil(this);
@@ -186,6 +231,16 @@ public class CommandContext implements ICommandContext {
 
     @Override
     public ICommandResponse getCommandResponse() {
-        return commandResponse;
+        ICommandResponse response = commandResponse;
+        if (response == null) {
+            synchronized (this) {
+                response = commandResponse;
+                if (response == null) {
+                    response = new CommandResponse();
+                    commandResponse = response;
+                }
+            }
+        }
+        return response;
     }
 }
\ No newline at end of file
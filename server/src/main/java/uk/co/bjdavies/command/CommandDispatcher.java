@@ -26,22 +26,37 @@
 package uk.co.bjdavies.command;
 
 import discord4j.core.object.entity.Message;
+import discord4j.core.object.entity.channel.MessageChannel;
+import discord4j.rest.util.Color;
 import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.Loggers;
 import uk.co.bjdavies.api.IApplication;
+import uk.co.bjdavies.api.command.IAsyncCommandMiddleware;
 import uk.co.bjdavies.api.command.ICommand;
 import uk.co.bjdavies.api.command.ICommandContext;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
 import uk.co.bjdavies.api.command.ICommandMiddleware;
+import uk.co.bjdavies.api.command.ICommandResponse;
+import uk.co.bjdavies.api.command.IPrefixResolver;
+import uk.co.bjdavies.api.command.IResponse;
+import uk.co.bjdavies.api.config.IConfig;
+import uk.co.bjdavies.api.config.ISystemConfig;
 import uk.co.bjdavies.api.plugins.IPlugin;
 import uk.co.bjdavies.command.errors.UsageException;
 import uk.co.bjdavies.command.parser.MessageParser;
-import uk.co.bjdavies.variables.VariableParser;
+import uk.co.bjdavies.discord.OutboundMessageDispatcher;
+import uk.co.bjdavies.discord.services.BotColorService;
+import uk.co.bjdavies.variables.VariableContainer;
+import uk.co.bjdavies.variables.VariableTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -53,21 +68,47 @@ import java.util.concurrent.atomic.AtomicReference;
 public class CommandDispatcher implements ICommandDispatcher {
 
     /**
-     * This is the list of command that can be executed by the dispatcher.
-     * Key: Namespace - e.g. "" which wont require a command prefix
-     * e.g. "bb" which would require a bb prefix;
+     * This is the max number of commands suggested when a command cannot be found.
      */
-    private final Map<String, List<ICommand>> commands;
+    private static final int SUGGESTION_LIMIT = 5;
 
-    private final Map<IPlugin, List<ICommandMiddleware>> middlewareList;
+    /**
+     * This is everything that is registered with the dispatcher, it is replaced with a new snapshot every time
+     * something is registered or removed so reads do not need to lock.
+     */
+    private volatile CommandRegistry registry;
+
+    private final CommandSchedulers schedulers;
+
+    private final String overloadedMessage;
+
+    private final long defaultTimeout;
+
+    private final String timeoutMessage;
+
+    private final ChannelThrottle notFoundThrottle;
+
+    private final OutboundMessageDispatcher outbound;
+
+    private final IPrefixResolver prefixResolver;
 
     /**
-     * This will initialize the commands list to an ArrayList.
+     * This will initialize the dispatcher with an empty registry.
+     *
+     * @param config   - The config, used to size the worker pool of each namespace and throttle replies.
+     * @param outbound       - This is where every reply is sent through.
+     * @param prefixResolver - This is used to show usage text with the prefix of the message's guild.
      */
-    public CommandDispatcher() {
-        this.commands = new HashMap<>();
-        this.middlewareList = new HashMap<>();
-        this.middlewareList.put(null, new ArrayList<>());
+    public CommandDispatcher(IConfig config, OutboundMessageDispatcher outbound, IPrefixResolver prefixResolver) {
+        this.outbound = outbound;
+        this.prefixResolver = prefixResolver;
+        ISystemConfig systemConfig = config.getSystemConfig();
+        this.registry = CommandRegistry.empty();
+        this.schedulers = new CommandSchedulers(systemConfig);
+        this.overloadedMessage = systemConfig.getCommandOverloadedMessage();
+        this.defaultTimeout = systemConfig.getCommandTimeout();
+        this.timeoutMessage = systemConfig.getCommandTimeoutMessage();
+        this.notFoundThrottle = new ChannelThrottle(config.getDiscordConfig().getCommandNotFoundCooldown());
     }
 
 
@@ -76,36 +117,36 @@ public class CommandDispatcher implements ICommandDispatcher {
      *
      * @param command - The command you wish to add.
      */
-    public void addCommand(String namespace, ICommand command) {
-        if (!commands.containsKey(namespace)) {
+    public synchronized void addCommand(String namespace, ICommand command) {
+        CommandRegistry current = registry;
+        if (!current.hasNamespace(namespace)) {
             log.info("Namespace: " + namespace + " has not been created yet, creating now...");
-            commands.put(namespace, new ArrayList<>());
         }
-        List<ICommand> namespaceCommands = commands.get(namespace);
-        if (commandExists(namespaceCommands, command)) {
+        if (commandExists(current.getCommands(namespace), command)) {
             log.warn("Command: " + command.getAliases()[0] + ", already exists inside namespace: " + namespace);
         } else {
-            namespaceCommands.add(command);
+            registry = current.toBuilder().addCommand(namespace, command).build();
         }
     }
 
     @Override
-    public void addNamespace(String namespace, List<ICommand> commandsToAdd) {
-        if (commands.containsKey(namespace)) {
+    public synchronized void addNamespace(String namespace, List<ICommand> commandsToAdd) {
+        CommandRegistry current = registry;
+        if (current.hasNamespace(namespace)) {
             log.info("Namespace: " + namespace + " has already been created.");
             log.warn("Plugin with this namespace already exists please consider changing it.");
-            commands.get(namespace).addAll(commandsToAdd);
-        } else {
-            commands.put(namespace, commandsToAdd);
         }
+        registry = current.toBuilder().addCommands(namespace, commandsToAdd).build();
     }
 
     @Override
-    public void removeNamespace(String namespace) {
-        if (!commands.containsKey(namespace)) {
+    public synchronized void removeNamespace(String namespace) {
+        CommandRegistry current = registry;
+        if (!current.hasNamespace(namespace)) {
             log.info("Namespace: " + namespace + " has not been created so you cannot remove it.");
         } else {
-            commands.remove(namespace);
+            registry = current.toBuilder().removeNamespace(namespace).build();
+            schedulers.dispose(namespace);
         }
     }
 
@@ -138,37 +179,32 @@ public class CommandDispatcher implements ICommandDispatcher {
      *
      * @param command - The command you wish to remove.
      */
-    public void removeCommand(String namespace, ICommand command) {
-        if (!commands.containsKey(namespace)) {
+    public synchronized void removeCommand(String namespace, ICommand command) {
+        CommandRegistry current = registry;
+        if (!current.hasNamespace(namespace)) {
             log.error("Namespace: " + namespace + " has not been created yet, cannot remove command");
             return;
         }
-        List<ICommand> namespaceCommands = commands.get(namespace);
-        if (!namespaceCommands.contains(command)) {
+        if (!current.getCommands(namespace).contains(command)) {
             log.error("Command is not part of the dispatcher so it cannot be removed.");
         } else {
-            namespaceCommands.remove(command);
+            registry = current.toBuilder().removeCommand(namespace, command).build();
         }
 
     }
 
     public Flux<ICommand> getCommandsFromNamespace(String namespace) {
-        if (!commands.containsKey(namespace)) {
+        CommandRegistry current = registry;
+        if (!current.hasNamespace(namespace)) {
             log.error("Namespace: " + namespace + " has not been created yet, cannot get namepsace");
             return Flux.empty();
         }
-        return Flux.create(sink -> {
-            commands.get(namespace).forEach(sink::next);
-            sink.complete();
-        });
+        return Flux.fromIterable(current.getCommands(namespace));
     }
 
     @Override
     public Flux<String> getRegisteredNamespaces() {
-        return Flux.create(sink -> {
-            commands.keySet().forEach(sink::next);
-            sink.complete();
-        });
+        return Flux.fromIterable(registry.getNamespaces());
     }
 
     /**
@@ -179,8 +215,8 @@ public class CommandDispatcher implements ICommandDispatcher {
      * @return Optional
      */
     public Mono<ICommand> getCommandByAlias(String namespace, String alias, String type) {
-        return Mono.from(getCommandsFromNamespace(namespace)
-                .filter(e -> Arrays.asList(e.getAliases()).contains(alias) && e.getType().equals(type)).take(1));
+        return Mono.justOrEmpty(registry.getCommandIndex()
+                .find(namespace, alias.toLowerCase(), CommandTypes.bitOf(type)));
     }
 
 
@@ -197,207 +233,245 @@ public class CommandDispatcher implements ICommandDispatcher {
 
         if (commandContext != null) {
             log.info("Handling command: " + commandContext.getCommandName());
-            AtomicBoolean canRun = new AtomicBoolean(true);
-
-            this.middlewareList.get(null).forEach(m -> {
-                if (canRun.get()) {
-                    canRun.set(m.onExecute(commandContext));
+            CommandRegistry registry = this.registry;
+            String namespace = registry.getNamespaceTrie().findLongestNamespace(commandContext.getCommandName());
+
+            IAsyncCommandMiddleware[] chain = registry.getMiddlewareChain(namespace);
+            int index = 0;
+            while (index < chain.length && chain[index] instanceof ICommandMiddleware) {
+                if (!((ICommandMiddleware) chain[index]).onExecute(commandContext)) {
+                    log.info("Cannot run command due to failing middleware");
+                    return;
                 }
-            });
-
-            if (!canRun.get()) {
-                log.info("Cannot run command due to failing middleware");
-                return;
+                index++;
             }
 
-
-            String namespace = getNamespaceFromCommandName(commandContext.getCommandName());
-
-            this.getMiddlewareForNamespace(namespace).doOnNext(middleware -> {
-                log.info("Running middleware for: " + namespace);
-                if (canRun.get()) {
-                    canRun.set(middleware.onExecute(commandContext));
-                }
-            }).subscribe();
-
-            if (!canRun.get()) {
-                log.info("Cannot run command due to failing plugin middleware");
+            if (index == chain.length) {
+                dispatch(registry, namespace, commandContext, application);
                 return;
             }
 
-            String commandName = commandContext.getCommandName().replace(namespace, "");
-            Message m = commandContext.getMessage();
-            AtomicBoolean hasSentMessage = new AtomicBoolean(false);
-            AtomicBoolean hasFoundOne = new AtomicBoolean(false);
-
-            getCommandsFromNamespace(namespace)
-                    .filter(e -> checkType(e.getType(), commandContext.getType()))
-                    .filter(e -> Arrays.stream(e.getAliases())
-                            .anyMatch(alias -> alias.toLowerCase().equals(commandName.toLowerCase())))
-                    .doOnError(e -> log.error("Error in the command dispatcher.", e))
-                    .doOnComplete(() -> {
-                        if (!hasFoundOne.get()) {
-                            StringBuilder sb = new StringBuilder("```markdown\n# Command Not Found\n\nDid You mean?\n");
-                            getCommandsLike(commandName, commandContext.getType())
-                                    .subscribe(c -> {
-                                        sb.append(getNamespaceForCommand(c)).append(c.getAliases()[0])
-                                                .append("? - ").append(c.getDescription()).append("\n");
-                                        hasSentMessage.set(true);
-                                    }, null, () -> {
-                                        if (!hasSentMessage.get()) {
-                                            m.getChannel().subscribe(c ->
-                                                    c.createMessage("Babblebot command could'nt be found.").subscribe());
-                                        } else {
-                                            sb.append("```");
-                                            m.getChannel().subscribe(c ->
-                                                    c.createMessage(sb.toString()).subscribe());
-                                        }
-                                    });
-                        }
-                    })
-                    .flatMap(c -> {
-                        hasFoundOne.set(true);
-                        if (!c.validateUsage(commandContext)) {
-                            return Flux.error(new UsageException(c.getUsage()));
-                        }
-
-                        //noinspection ReactiveStreamsUnusedPublisher
-                        commandContext.getMessage().getGuild().doOnNext(g ->
-                                log.debug("Running command: " + commandContext.getCommandName() + "In Guild: " +
-                                        g.getName()));
-                        String runCommand = c.run(application, commandContext);
-
-                        if (!runCommand.equals("")) {
-                            return Flux.just(ResponseFactory.createStringResponse(runCommand));
+            Flux.fromArray(chain)
+                    .skip(index)
+                    .concatMap(middleware -> middleware.onExecuteAsync(commandContext).defaultIfEmpty(false))
+                    .takeUntil(canRun -> !canRun)
+                    .all(Boolean::booleanValue)
+                    .subscribe(canRun -> {
+                        if (canRun) {
+                            dispatch(registry, namespace, commandContext, application);
                         } else {
-                            c.exec(application, commandContext);
-                            return commandContext.getCommandResponse().getResponses()
-                                    .log(Loggers.getLogger("CommandResponses"));
-                        }
-                    })
-                    .subscribe(s -> {
-                        if (s.isStringResponse()) {
-
-                            m.getChannel().subscribe(c ->
-                                    c.createMessage(new VariableParser(s.getStringResponse(), application).toString())
-                                            .subscribe());
-                            hasSentMessage.set(true);
-                        } else if (s.getEmbedCreateSpecResponse() != null) {
-                            m.getChannel().subscribe(c ->
-                                    c.createEmbed(spec -> {
-                                        spec.setFooter("Server Version: " + application.getServerVersion(), null);
-                                        spec.setAuthor("BabbleBot", "https://github.com/bendavies99/BabbleBot-Server", null);
-                                        spec.setTimestamp(Instant.now());
-                                        m.getGuild().subscribe(g -> m.getClient().getSelf()
-                                                .subscribe(u -> u.asMember(g.getId())
-                                                        .subscribe(mem -> mem.getColor()
-                                                                .subscribe(spec::setColor))));
-
-                                        s.getEmbedCreateSpecResponse().accept(spec);
-                                    })
-                                            .subscribe());
-                            hasSentMessage.set(true);
+                            log.info("Cannot run command due to failing middleware");
                         }
-                    }, throwable -> {
-                        if (throwable instanceof UsageException) {
-                            m.getChannel().subscribe(c ->
-                                    c.createMessage(throwable.getMessage()).subscribe());
-                        }
-                        hasSentMessage.set(true);
-                    });
-
+                    }, e -> log.error("Error in the command middleware.", e));
         } else {
             log.error("Command could not be parsed: " + message);
         }
 
     }
 
-    private Flux<ICommand> getCommandsLike(String commandName, String type) {
-        return Flux.create(sink -> getCommands(type)
-                .doOnComplete(sink::complete)
-                .filter(c -> Arrays.stream(c.getAliases()).anyMatch(a -> a.contains(commandName)))
-                .doOnNext(sink::next).subscribe());
-    }
+    /**
+     * This will run the command once all of its middleware has passed.
+     *
+     * @param registry       - The registry snapshot the command was resolved against.
+     * @param namespace      - The namespace of the command.
+     * @param commandContext - The command context.
+     * @param application    - The application instance.
+     */
+    private void dispatch(CommandRegistry registry, String namespace, ICommandContext commandContext,
+                          IApplication application) {
+        String commandName = commandContext.getCommandName().substring(namespace.length());
+        Message m = commandContext.getMessage();
+        long channelId = m.getChannelId().asLong();
+        Mono<MessageChannel> channel = m.getChannel().cache();
+        long type = commandContext instanceof CommandContext
+                ? ((CommandContext) commandContext).getTypeBit()
+                : CommandTypes.bitOf(commandContext.getType());
+
+        ICommand command = registry.getCommandIndex()
+                .find(namespace, commandName.toLowerCase(), type);
+        if (command == null) {
+            sendCommandNotFound(registry, commandContext.getCommandName(), type, m);
+            return;
+        }
 
-    private String getNamespaceForCommand(ICommand c) {
-        AtomicReference<String> namespace = new AtomicReference<>("");
-        this.commands.forEach((key, value) -> {
-            if (!checkAliases(value, c) && namespace.get().equals("")) {
-                namespace.set(key);
-            }
-        });
-        return namespace.get();
+        Flux.just(command)
+                .doOnError(e -> log.error("Error in the command dispatcher.", e))
+                .flatMap(c -> {
+                    if (!c.validateUsage(commandContext)) {
+                        return Flux.error(new UsageException(
+                                prefixResolver.localize(commandContext.getMessage(), c.getUsage())));
+                    }
+
+                    //noinspection ReactiveStreamsUnusedPublisher
+                    commandContext.getMessage().getGuild().doOnNext(g ->
+                            log.debug("Running command: " + commandContext.getCommandName() + "In Guild: " +
+                                    g.getName()));
+                    String runCommand = c.run(application, commandContext);
+
+                    if (!runCommand.equals("")) {
+                        return Flux.just(ResponseFactory.createStringResponse(runCommand));
+                    } else {
+                        c.exec(application, commandContext);
+                        ICommandResponse commandResponse = commandContext.getCommandResponse();
+                        Flux<IResponse> responses = commandResponse instanceof CommandResponse
+                                ? ((CommandResponse) commandResponse).toFlux()
+                                : commandResponse.getResponses();
+                        return responses
+                                .log(Loggers.getLogger("CommandResponses"));
+                    }
+                })
+                .subscribeOn(schedulers.get(namespace))
+                .transform(responses -> applyTimeout(responses, command, commandContext))
+                .transform(responses -> ResponseBatcher.batch(responses,
+                        s -> VariableTemplate.of(s)
+                                .renderAsync((VariableContainer) application.getVariableContainer())))
+                .concatMap(s -> outbound.send(channelId, channel.flatMap(c -> sendResponse(c, s, m, application)))
+                        .onErrorResume(e -> {
+                            log.error("Unable to send a response for command: " + commandContext.getCommandName(), e);
+                            return Mono.empty();
+                        }))
+                .subscribe(null, throwable -> {
+                    if (throwable instanceof UsageException) {
+                        reply(channelId, channel, throwable.getMessage());
+                    } else if (throwable instanceof RejectedExecutionException) {
+                        log.warn("Rejected command: " + commandContext.getCommandName() + ", namespace: \""
+                                + namespace + "\" is overloaded");
+                        reply(channelId, channel, overloadedMessage);
+                    } else if (throwable instanceof TimeoutException) {
+                        log.warn(throwable.getMessage());
+                        if (!timeoutMessage.isEmpty()) {
+                            reply(channelId, channel, timeoutMessage);
+                        }
+                    } else {
+                        log.error("Error in the command dispatcher.", throwable);
+                    }
+                });
     }
 
-    public String getNamespaceFromCommandName(String commandName) {
-        AtomicReference<String> namespace = new AtomicReference<>("");
-        log.info(commandName);
-        this.commands.keySet().forEach(i -> {
-            if (commandName.startsWith(i)) {
-                namespace.set(i);
-            }
-        });
+    /**
+     * This will send a response to the channel the command was run in, embeds are given the bot's color which is
+     * resolved from the {@link BotColorService} before the embed is built.
+     *
+     * @param channel     - The channel the command was run in.
+     * @param response    - The response to send.
+     * @param m           - The message that ran the command.
+     * @param application - The application instance.
+     * @return Mono - The sent message.
+     */
+    private Mono<Message> sendResponse(MessageChannel channel, IResponse response, Message m,
+                                       IApplication application) {
+        if (response.isStringResponse()) {
+            return channel.createMessage(response.getStringResponse());
+        }
 
-        return namespace.get();
+        Mono<Optional<Color>> color = m.getGuildId()
+                .map(id -> application.get(BotColorService.class).getColor(id))
+                .orElse(Mono.empty())
+                .map(Optional::of)
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty(Optional.empty());
+
+        return color.flatMap(c -> channel.createEmbed(spec -> {
+            spec.setFooter("Server Version: " + application.getServerVersion(), null);
+            spec.setAuthor("BabbleBot", "https://github.com/bendavies99/BabbleBot-Server", null);
+            spec.setTimestamp(Instant.now());
+            c.ifPresent(spec::setColor);
+
+            response.getEmbedCreateSpecResponse().accept(spec);
+        }));
     }
 
-    @Override
-    public void registerGlobalMiddleware(ICommandMiddleware middleware) {
-        this.middlewareList.get(null).add(middleware);
-    }
+    /**
+     * This will cancel the command and its responses if it has not finished within its timeout.
+     *
+     * @param responses      - The responses of the command.
+     * @param command        - The command that is running.
+     * @param commandContext - The command context.
+     * @return Flux - This will error with a {@link TimeoutException} if the command was cancelled.
+     */
+    private Flux<IResponse> applyTimeout(Flux<IResponse> responses, ICommand command,
+                                         ICommandContext commandContext) {
+        long timeout = command.getTimeout() < 0 ? defaultTimeout : command.getTimeout();
+        if (timeout == 0) {
+            return responses;
+        }
 
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        return responses
+                .takeUntilOther(Mono.delay(Duration.ofMillis(timeout)).doOnNext(t -> timedOut.set(true)))
+                .concatWith(Mono.defer(() -> {
+                    if (!timedOut.get()) {
+                        return Mono.empty();
+                    }
 
-    @Override
-    public void registerPluginMiddleware(IPlugin plugin, ICommandMiddleware middleware) {
-        if (!middlewareList.containsKey(plugin)) {
-            middlewareList.put(plugin, new ArrayList<>());
+                    ICommandResponse commandResponse = commandContext.getCommandResponse();
+                    if (commandResponse instanceof Disposable) {
+                        ((Disposable) commandResponse).dispose();
+                    }
+                    return Mono.error(new TimeoutException("Command: " + commandContext.getCommandName()
+                            + " was cancelled after " + timeout + "ms"));
+                }));
+    }
+
+    private void sendCommandNotFound(CommandRegistry registry, String commandName, long type, Message m) {
+        if (!notFoundThrottle.tryAcquire(m.getChannelId().asLong())) {
+            log.debug("Not replying to unknown command: " + commandName + ", channel is on cooldown");
+            return;
         }
 
-        middlewareList.get(plugin).add(middleware);
+        String reply = registry.getUnknownCommands().get(type, commandName,
+                () -> createCommandNotFound(registry, commandName, type));
+        reply(m.getChannelId().asLong(), m.getChannel(), reply);
     }
 
-    private Flux<ICommandMiddleware> getMiddlewareForNamespace(String namespace) {
-
-        return Flux.create(sink -> {
-            middlewareList.forEach((key, value) -> {
-                if (key != null) {
-                    if (key.getNamespace().equals(namespace)) {
-                        value.forEach(sink::next);
-                    }
-                }
-            });
-            sink.complete();
-        });
+    private void reply(long channelId, Mono<MessageChannel> channel, String message) {
+        outbound.send(channelId, channel.flatMap(c -> c.createMessage(message)))
+                .subscribe(null, e -> log.error("Unable to send reply to channel: " + channelId, e));
     }
 
+    private String createCommandNotFound(CommandRegistry registry, String commandName, long type) {
+        List<CommandSuggestionIndex.Suggestion> suggestions = registry.getSuggestionIndex()
+                .suggest(commandName, type, SUGGESTION_LIMIT);
+        if (suggestions.isEmpty()) {
+            return "Babblebot command could'nt be found.";
+        }
+
+        StringBuilder sb = new StringBuilder("```markdown\n# Command Not Found\n\nDid You mean?\n");
+        suggestions.forEach(s -> sb.append(s.getName()).append("? - ")
+                .append(s.getCommand().getDescription()).append("\n"));
+        sb.append("```");
+        return sb.toString();
+    }
 
     /**
-     * This will check of the command against the command context.
+     * This will return the longest registered namespace that the command name starts with.
      *
-     * @param commandType - The type of the command.
-     * @param contextType - The command context.
-     * @return boolean
+     * @param commandName - The name of the command including its namespace.
+     * @return String
      */
-    private boolean checkType(String commandType, String contextType) {
-        if (commandType.equals("All")) {
-            return true;
-        } else if (commandType.toLowerCase().equals(contextType.toLowerCase())) {
-            return true;
-        } else if (commandType.contains("|")) {
-            String[] types = commandType.split("|");
-            boolean foundType = false;
-
-            for (String type : types) {
-                if (type.toLowerCase().equals(contextType.toLowerCase())) {
-                    foundType = true;
-                }
-            }
+    public String getNamespaceFromCommandName(String commandName) {
+        return registry.getNamespaceTrie().findLongestNamespace(commandName);
+    }
 
-            return foundType;
-        }
+    @Override
+    public synchronized void registerGlobalMiddleware(ICommandMiddleware middleware) {
+        registry = registry.toBuilder().addGlobalMiddleware(middleware).build();
+    }
 
 
-        return false;
+    @Override
+    public synchronized void registerPluginMiddleware(IPlugin plugin, ICommandMiddleware middleware) {
+        registry = registry.toBuilder().addPluginMiddleware(plugin, middleware).build();
+    }
+
+    @Override
+    public synchronized void registerGlobalAsyncMiddleware(IAsyncCommandMiddleware middleware) {
+        registry = registry.toBuilder().addGlobalMiddleware(middleware).build();
+    }
+
+    @Override
+    public synchronized void registerPluginAsyncMiddleware(IPlugin plugin, IAsyncCommandMiddleware middleware) {
+        registry = registry.toBuilder().addPluginMiddleware(plugin, middleware).build();
     }
 
     /**
@@ -407,7 +481,16 @@ public class CommandDispatcher implements ICommandDispatcher {
      * @return List
      */
     public Flux<ICommand> getCommands(String namespace, String type) {
-        return getCommandsFromNamespace(namespace).filter(c -> c.getType().equals(type));
+        CommandRegistry current = registry;
+        if (!current.hasNamespace(namespace)) {
+            log.error("Namespace: " + namespace + " has not been created yet, cannot get namepsace");
+            return Flux.empty();
+        }
+
+        long typeBit = CommandTypes.bitOf(type);
+        return Flux.fromIterable(current.getTypedCommands(namespace))
+                .filter(c -> c.supports(typeBit))
+                .map(TypedCommand::getCommand);
     }
 
     /**
@@ -420,7 +503,7 @@ public class CommandDispatcher implements ICommandDispatcher {
 
         AtomicReference<Flux<ICommand>> commandFlux = new AtomicReference<>(Flux.empty());
 
-        commands.keySet().forEach(k -> {
+        registry.getNamespaces().forEach(k -> {
             commandFlux.set(commandFlux.get().concatWith(getCommands(k, type)));
         });
 
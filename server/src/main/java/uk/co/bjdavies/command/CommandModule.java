@@ -28,6 +28,9 @@ package uk.co.bjdavies.command;
 import com.google.inject.AbstractModule;
 import lombok.Getter;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
+import uk.co.bjdavies.api.command.IPrefixResolver;
+import uk.co.bjdavies.api.config.IConfig;
+import uk.co.bjdavies.discord.OutboundMessageDispatcher;
 
 /**
  * This is a module class that allows to inject command stuff into a class when using {@link com.google.inject.Inject}
@@ -39,14 +42,24 @@ public class CommandModule extends AbstractModule {
     @Getter
     private final ICommandDispatcher commandDispatcher;
 
+    @Getter
+    private final OutboundMessageDispatcher outboundMessageDispatcher;
+
+    @Getter
+    private final IPrefixResolver prefixResolver;
+
 
-    public CommandModule() {
-        this.commandDispatcher = new CommandDispatcher();
+    public CommandModule(IConfig config) {
+        this.outboundMessageDispatcher = new OutboundMessageDispatcher(config.getDiscordConfig());
+        this.prefixResolver = new PrefixResolver(config.getDiscordConfig());
+        this.commandDispatcher = new CommandDispatcher(config, outboundMessageDispatcher, prefixResolver);
     }
 
     @Override
     protected void configure() {
         bind(ICommandDispatcher.class).toInstance(this.commandDispatcher);
+        bind(OutboundMessageDispatcher.class).toInstance(this.outboundMessageDispatcher);
+        bind(IPrefixResolver.class).toInstance(this.prefixResolver);
     }
 
 }
@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import uk.co.bjdavies.api.command.ICommand;
+import uk.co.bjdavies.api.command.IAsyncCommandMiddleware;
+import uk.co.bjdavies.api.plugins.IPlugin;
+
+import java.util.*;
+
+/**
+ * This is an immutable snapshot of everything that is registered with the {@link CommandDispatcher}.
+ * <p>
+ * The dispatcher publishes a new snapshot every time a command, namespace or middleware is added or removed, so
+ * messages can be dispatched without locking while plugins are being loaded or unloaded.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public final class CommandRegistry {
+
+    /**
+     * This is how long the reply for an unknown command is cached for.
+     */
+    private static final long UNKNOWN_COMMAND_TTL = 60000;
+
+    /**
+     * Key: Namespace - e.g. "" which wont require a command prefix
+     * e.g. "bb" which would require a bb prefix;
+     */
+    private final Map<String, List<ICommand>> commands;
+
+    /**
+     * Key: Namespace -> the commands in the namespace with their types parsed once when the registry is built.
+     */
+    private final Map<String, List<TypedCommand>> typedCommands;
+
+    private final List<IAsyncCommandMiddleware> globalMiddleware;
+
+    private final Map<IPlugin, List<IAsyncCommandMiddleware>> pluginMiddleware;
+
+    private final CommandAliasIndex commandIndex;
+
+    private final NamespaceTrie namespaceTrie;
+
+    private final CommandSuggestionIndex suggestionIndex;
+
+    /**
+     * Key: Namespace -> global middleware followed by the middleware of the plugins using that namespace.
+     */
+    private final Map<String, IAsyncCommandMiddleware[]> middlewareChains;
+
+    /**
+     * This is used for namespaces that have no plugin middleware.
+     */
+    private final IAsyncCommandMiddleware[] globalMiddlewareChain;
+
+    /**
+     * This belongs to the snapshot so replacing the registry drops the cached replies at the same time, a dispatch
+     * still using an old snapshot can only cache into that snapshot's cache.
+     */
+    private final UnknownCommandCache unknownCommands = new UnknownCommandCache(UNKNOWN_COMMAND_TTL);
+
+    private CommandRegistry(Builder builder) {
+        Map<String, List<ICommand>> commands = new LinkedHashMap<>();
+        Map<String, List<TypedCommand>> typedCommands = new HashMap<>();
+        CommandAliasIndex commandIndex = new CommandAliasIndex();
+        builder.commands.forEach((namespace, namespaceCommands) -> {
+            commands.put(namespace, List.copyOf(namespaceCommands));
+            List<TypedCommand> typed = new ArrayList<>(namespaceCommands.size());
+            namespaceCommands.forEach(c -> {
+                TypedCommand typedCommand = new TypedCommand(c);
+                typed.add(typedCommand);
+                commandIndex.add(namespace, typedCommand);
+            });
+            typedCommands.put(namespace, Collections.unmodifiableList(typed));
+        });
+
+        Map<IPlugin, List<IAsyncCommandMiddleware>> pluginMiddleware = new LinkedHashMap<>();
+        builder.pluginMiddleware.forEach((plugin, middleware) -> pluginMiddleware.put(plugin, List.copyOf(middleware)));
+
+        this.commands = Collections.unmodifiableMap(commands);
+        this.typedCommands = typedCommands;
+        this.globalMiddleware = List.copyOf(builder.globalMiddleware);
+        this.pluginMiddleware = Collections.unmodifiableMap(pluginMiddleware);
+        this.commandIndex = commandIndex;
+        this.namespaceTrie = new NamespaceTrie(commands.keySet());
+        this.suggestionIndex = new CommandSuggestionIndex(typedCommands);
+        this.globalMiddlewareChain = globalMiddleware.toArray(new IAsyncCommandMiddleware[0]);
+        this.middlewareChains = compileMiddlewareChains();
+    }
+
+    /**
+     * This will flatten the global and plugin middleware into one array per namespace, the namespace of a plugin is
+     * read when the registry is built.
+     *
+     * @return Map
+     */
+    private Map<String, IAsyncCommandMiddleware[]> compileMiddlewareChains() {
+        Map<String, List<IAsyncCommandMiddleware>> chains = new HashMap<>();
+        pluginMiddleware.forEach((plugin, middleware) -> chains
+                .computeIfAbsent(plugin.getNamespace(), k -> new ArrayList<>(globalMiddleware))
+                .addAll(middleware));
+
+        Map<String, IAsyncCommandMiddleware[]> compiled = new HashMap<>();
+        chains.forEach((namespace, chain) -> compiled.put(namespace, chain.toArray(new IAsyncCommandMiddleware[0])));
+        return compiled;
+    }
+
+    /**
+     * This will return a registry with nothing registered.
+     *
+     * @return CommandRegistry
+     */
+    public static CommandRegistry empty() {
+        return new Builder().build();
+    }
+
+    public boolean hasNamespace(String namespace) {
+        return commands.containsKey(namespace);
+    }
+
+    /**
+     * This will return the commands inside a namespace.
+     *
+     * @param namespace - The namespace of the commands.
+     * @return List - empty if the namespace has not been created.
+     */
+    public List<ICommand> getCommands(String namespace) {
+        return commands.getOrDefault(namespace, Collections.emptyList());
+    }
+
+    /**
+     * This will return the commands inside a namespace with their types parsed.
+     *
+     * @param namespace - The namespace of the commands.
+     * @return List - empty if the namespace has not been created.
+     */
+    List<TypedCommand> getTypedCommands(String namespace) {
+        return typedCommands.getOrDefault(namespace, Collections.emptyList());
+    }
+
+    public Map<String, List<ICommand>> getCommands() {
+        return commands;
+    }
+
+    public Set<String> getNamespaces() {
+        return commands.keySet();
+    }
+
+    /**
+     * This will return the middleware that has to pass before a command in the namespace can run.
+     *
+     * @param namespace - The namespace of the command.
+     * @return IAsyncCommandMiddleware[] - This must not be modified.
+     */
+    public IAsyncCommandMiddleware[] getMiddlewareChain(String namespace) {
+        IAsyncCommandMiddleware[] chain = middlewareChains.get(namespace);
+        return chain != null ? chain : globalMiddlewareChain;
+    }
+
+    public CommandSuggestionIndex getSuggestionIndex() {
+        return suggestionIndex;
+    }
+
+    public UnknownCommandCache getUnknownCommands() {
+        return unknownCommands;
+    }
+
+    public CommandAliasIndex getCommandIndex() {
+        return commandIndex;
+    }
+
+    public NamespaceTrie getNamespaceTrie() {
+        return namespaceTrie;
+    }
+
+    /**
+     * This will return a builder that has a copy of everything in this registry.
+     *
+     * @return Builder
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        commands.forEach((namespace, namespaceCommands) ->
+                builder.commands.put(namespace, new ArrayList<>(namespaceCommands)));
+        builder.globalMiddleware.addAll(globalMiddleware);
+        pluginMiddleware.forEach((plugin, middleware) ->
+                builder.pluginMiddleware.put(plugin, new ArrayList<>(middleware)));
+        return builder;
+    }
+
+    public static final class Builder {
+        private final Map<String, List<ICommand>> commands = new LinkedHashMap<>();
+        private final List<IAsyncCommandMiddleware> globalMiddleware = new ArrayList<>();
+        private final Map<IPlugin, List<IAsyncCommandMiddleware>> pluginMiddleware = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addCommand(String namespace, ICommand command) {
+            commands.computeIfAbsent(namespace, k -> new ArrayList<>()).add(command);
+            return this;
+        }
+
+        public Builder addCommands(String namespace, List<ICommand> commandsToAdd) {
+            commands.computeIfAbsent(namespace, k -> new ArrayList<>()).addAll(commandsToAdd);
+            return this;
+        }
+
+        public Builder removeCommand(String namespace, ICommand command) {
+            List<ICommand> namespaceCommands = commands.get(namespace);
+            if (namespaceCommands != null) {
+                namespaceCommands.remove(command);
+            }
+            return this;
+        }
+
+        public Builder removeNamespace(String namespace) {
+            commands.remove(namespace);
+            return this;
+        }
+
+        public Builder addGlobalMiddleware(IAsyncCommandMiddleware middleware) {
+            globalMiddleware.add(middleware);
+            return this;
+        }
+
+        public Builder addPluginMiddleware(IPlugin plugin, IAsyncCommandMiddleware middleware) {
+            pluginMiddleware.computeIfAbsent(plugin, k -> new ArrayList<>()).add(middleware);
+            return this;
+        }
+
+        public CommandRegistry build() {
+            return new CommandRegistry(this);
+        }
+    }
+}
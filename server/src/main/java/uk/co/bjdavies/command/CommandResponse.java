@@ -27,10 +27,12 @@ package uk.co.bjdavies.command;
 
 import discord4j.core.spec.EmbedCreateSpec;
 import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.EmitterProcessor;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxProcessor;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
 import uk.co.bjdavies.api.command.ICommandResponse;
 import uk.co.bjdavies.api.command.IResponse;
 import uk.co.bjdavies.command.response.ResponseHandler;
@@ -45,59 +47,83 @@ import java.util.function.Consumer;
  * @since 1.2.7
  */
 @Slf4j
-public class CommandResponse implements ICommandResponse {
+public class CommandResponse implements ICommandResponse, Disposable {
 
-    private final FluxProcessor<IResponse, IResponse> processor;
+    private static final ResponseHandler STRING = ResponseHandlerFactory.getHandler(String.class);
 
-    public CommandResponse() {
-        log.info("Constructor");
-        processor = EmitterProcessor.create();
-    }
+    private static final ResponseHandler MONO_STRING = ResponseHandlerFactory.getHandler(createMonoType(String.class));
+
+    private static final ResponseHandler FLUX_STRING = ResponseHandlerFactory.getHandler(createFluxType(String.class));
+
+    private static final ResponseHandler EMBED = ResponseHandlerFactory.getHandler(createEmbedType());
+
+    private static final ResponseHandler MONO_EMBED =
+            ResponseHandlerFactory.getHandler(createMonoType(createEmbedType()));
+
+    private static final ResponseHandler FLUX_EMBED =
+            ResponseHandlerFactory.getHandler(createFluxType(createEmbedType()));
+
+    /**
+     * This is only created when the command sends more than a single String or something reactive.
+     */
+    private UnicastProcessor<IResponse> processor;
+
+    /**
+     * This is the response when the command has only sent a single String.
+     */
+    private IResponse single;
+
+    private boolean completed;
+
+    /**
+     * These are the subscriptions to the reactive responses the command has sent.
+     */
+    private final Disposable.Composite subscriptions = Disposables.composite();
 
     @Override
     public boolean sendEmbed(Consumer<EmbedCreateSpec> embed) {
-        return send(createEmbedType(), embed);
+        return send(EMBED, embed);
     }
 
     @Override
     public boolean sendEmbed(Mono<Consumer<EmbedCreateSpec>> embed) {
-        return send(createMonoType(createEmbedType()), embed);
+        return send(MONO_EMBED, embed);
     }
 
     @Override
     public boolean sendEmbed(Flux<Consumer<EmbedCreateSpec>> embed) {
-        return send(createFluxType(createEmbedType()), embed);
+        return send(FLUX_EMBED, embed);
     }
 
     @Override
     public boolean sendString(String string) {
-        return send(string.getClass(), string);
+        return send(STRING, string);
     }
 
     @Override
     public boolean sendString(Mono<String> string) {
-        return send(createMonoType(String.class), string);
+        return send(MONO_STRING, string);
     }
 
     @Override
     public boolean sendString(Flux<String> string) {
-        return send(createFluxType(String.class), string);
+        return send(FLUX_STRING, string);
     }
 
 
-    private ParameterizedType createFluxType(Type typeOfFlux) {
+    private static ParameterizedType createFluxType(Type typeOfFlux) {
         return createType(Flux.class, typeOfFlux);
     }
 
-    private ParameterizedType createMonoType(Type typeOfMono) {
+    private static ParameterizedType createMonoType(Type typeOfMono) {
         return createType(Mono.class, typeOfMono);
     }
 
-    private ParameterizedType createEmbedType() {
+    private static ParameterizedType createEmbedType() {
         return createType(Consumer.class, EmbedCreateSpec.class);
     }
 
-    private ParameterizedType createType(Type raw, Type arg) {
+    private static ParameterizedType createType(Type raw, Type arg) {
         return new ParameterizedType() {
             @Override
             public Type[] getActualTypeArguments() {
@@ -119,22 +145,97 @@ public class CommandResponse implements ICommandResponse {
 
     @Override
     public boolean send(Type type, Object obj) {
-
-        ResponseHandler responseHandler = ResponseHandlerFactory.getHandler(type, processor);
+        ResponseHandler responseHandler = ResponseHandlerFactory.getHandler(type);
 
         if (responseHandler != null) {
-            responseHandler.handle(obj);
-            return true;
+            return send(responseHandler, obj);
         }
 
-        processor.onComplete();
+        complete();
         log.error("Unable to send Object of type: " + type + ", through the command dispatcher.");
         return false;
     }
 
+    /**
+     * This will send a response using a handler that has already been resolved for the response's type.
+     *
+     * @param responseHandler - The handler for the type of the response.
+     * @param obj             - The response.
+     * @return boolean
+     */
+    public boolean send(ResponseHandler responseHandler, Object obj) {
+        synchronized (this) {
+            if (processor == null && !completed && responseHandler.getType() == String.class) {
+                single = ResponseFactory.createStringResponse((String) obj);
+                completed = true;
+                return true;
+            }
+        }
+
+        subscriptions.add(responseHandler.handle(obj, getResponses()));
+        return true;
+    }
+
+    /**
+     * This will return the responses, this can only be subscribed to once.
+     *
+     * @return FluxProcessor
+     */
     @Override
-    public FluxProcessor<IResponse, IResponse> getResponses() {
+    public synchronized FluxProcessor<IResponse, IResponse> getResponses() {
+        if (processor == null) {
+            processor = UnicastProcessor.create();
+            if (single != null) {
+                processor.onNext(single);
+            }
+            if (completed) {
+                processor.onComplete();
+            }
+        }
         return processor;
     }
 
+    /**
+     * This will return the responses without creating a processor if the command has only sent a single String.
+     *
+     * @return Flux
+     */
+    public synchronized Flux<IResponse> toFlux() {
+        if (processor == null && single != null) {
+            return Flux.just(single);
+        }
+        return getResponses();
+    }
+
+    /**
+     * This will complete the responses if the command has not sent anything, this is used after a void command has
+     * run so the dispatcher is not left waiting on a response that will never come.
+     */
+    public synchronized void completeIfEmpty() {
+        if (processor == null && single == null) {
+            complete();
+        }
+    }
+
+    private synchronized void complete() {
+        completed = true;
+        if (processor != null) {
+            processor.onComplete();
+        }
+    }
+
+    /**
+     * This will cancel any reactive responses that are still running and complete the responses.
+     */
+    @Override
+    public void dispose() {
+        subscriptions.dispose();
+        complete();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return subscriptions.isDisposed();
+    }
+
 }
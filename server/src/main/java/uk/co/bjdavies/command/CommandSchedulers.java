@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import lombok.extern.log4j.Log4j2;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import uk.co.bjdavies.api.config.ISystemConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This will give every command namespace its own bounded worker pool so a plugin that blocks can only use up its
+ * own threads and queue, once the queue is full new commands for that namespace are rejected.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Log4j2
+public class CommandSchedulers {
+
+    private static final int THREAD_TTL_SECONDS = 60;
+
+    private final Map<String, Scheduler> schedulers = new ConcurrentHashMap<>();
+
+    private final int threadCap;
+
+    /**
+     * This is the queue cap of each thread, the bounded elastic scheduler gives every thread its own queue so the
+     * namespace's cap is split between them.
+     */
+    private final int queueCapPerThread;
+
+    public CommandSchedulers(ISystemConfig config) {
+        this.threadCap = config.getCommandThreadsPerNamespace();
+        this.queueCapPerThread = threadCap <= 0 ? 0
+                : Math.max(1, (config.getCommandQueuePerNamespace() + threadCap - 1) / threadCap);
+    }
+
+    /**
+     * This will return the scheduler the commands in the namespace run on, commands will run on the thread that
+     * received the message if the thread cap is set to 0.
+     *
+     * @param namespace - The namespace of the command.
+     * @return Scheduler
+     */
+    public Scheduler get(String namespace) {
+        if (threadCap <= 0) {
+            return Schedulers.immediate();
+        }
+
+        return schedulers.computeIfAbsent(namespace, ns -> {
+            log.info("Creating command scheduler for namespace: \"" + ns + "\"");
+            return Schedulers.newBoundedElastic(threadCap, queueCapPerThread,
+                    "commands-" + (ns.isEmpty() ? "default" : ns), THREAD_TTL_SECONDS, true);
+        });
+    }
+
+    /**
+     * This will dispose the scheduler of a namespace once the namespace has been removed.
+     *
+     * @param namespace - The namespace that has been removed.
+     */
+    public void dispose(String namespace) {
+        Scheduler scheduler = schedulers.remove(namespace);
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import uk.co.bjdavies.api.command.ICommand;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is a BK-tree of every command name (namespace + alias, lowercased) so the dispatcher can suggest the closest
+ * commands by edit distance when a user mistypes a command.
+ * <p>
+ * The tree is built by {@link CommandRegistry} and is not changed once the registry has been published.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class CommandSuggestionIndex {
+
+    private Node root;
+
+    /**
+     * This will index every alias of every command.
+     *
+     * @param commands - Key: Namespace -> commands in the namespace with their types parsed.
+     */
+    CommandSuggestionIndex(Map<String, List<TypedCommand>> commands) {
+        commands.forEach((namespace, namespaceCommands) -> namespaceCommands.forEach(typedCommand -> {
+            for (String alias : typedCommand.getCommand().getAliases()) {
+                add((namespace + alias).toLowerCase(), typedCommand);
+            }
+        }));
+    }
+
+    private void add(String name, TypedCommand command) {
+        if (root == null) {
+            root = new Node(name, command);
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = distance(name, node.name);
+            if (distance == 0) {
+                node.commands.add(command);
+                return;
+            }
+
+            Node child = node.getChild(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(name, command));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * This will return the closest command names to the one the user entered, closest first.
+     *
+     * @param commandName - The command name including its namespace.
+     * @param type        - The type of command, see {@link CommandTypes#bitOf(String)}.
+     * @param limit       - The max number of suggestions.
+     * @return List - Each suggestion is a command name including its namespace.
+     */
+    public List<Suggestion> suggest(String commandName, long type, int limit) {
+        List<Suggestion> matches = new ArrayList<>();
+        if (root == null || limit <= 0) {
+            return matches;
+        }
+
+        String name = commandName.toLowerCase();
+        int maxDistance = maxDistance(name.length());
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            int distance = distance(name, node.name);
+            if (distance <= maxDistance) {
+                for (TypedCommand command : node.commands) {
+                    if (command.supports(type)) {
+                        matches.add(new Suggestion(node.name, command.getCommand(), distance));
+                        break;
+                    }
+                }
+            }
+
+            int from = Math.max(1, distance - maxDistance);
+            int to = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int i = from; i <= to; i++) {
+                if (node.children[i] != null) {
+                    stack.add(node.children[i]);
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Suggestion::getDistance).thenComparing(Suggestion::getName));
+        Set<ICommand> seen = new LinkedHashSet<>();
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (Suggestion suggestion : matches) {
+            if (seen.add(suggestion.getCommand())) {
+                suggestions.add(suggestion);
+                if (suggestions.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * This is how far a name can be from the user's input and still be suggested, short names get less room so
+     * suggestions stay relevant.
+     */
+    private static int maxDistance(int length) {
+        if (length <= 2) {
+            return 1;
+        }
+        return length <= 5 ? 2 : 3;
+    }
+
+    /**
+     * This is the Levenshtein distance between the two strings.
+     */
+    private static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = c == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static class Node {
+        private final String name;
+
+        private final List<TypedCommand> commands = new ArrayList<>(1);
+
+        private Node[] children = new Node[0];
+
+        private Node(String name, TypedCommand command) {
+            this.name = name;
+            this.commands.add(command);
+        }
+
+        private Node getChild(int distance) {
+            return distance < children.length ? children[distance] : null;
+        }
+
+        private void setChild(int distance, Node child) {
+            if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+    }
+
+    /**
+     * This is a command that is close to what the user entered.
+     */
+    public static class Suggestion {
+        private final String name;
+
+        private final ICommand command;
+
+        private final int distance;
+
+        private Suggestion(String name, ICommand command, int distance) {
+            this.name = name;
+            this.command = command;
+            this.distance = distance;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ICommand getCommand() {
+            return command;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This will turn command types e.g. "Discord", "Terminal" into bits so a command's supported types can be parsed
+ * once when it is registered and checked with a single bitwise test when a command is dispatched.
+ * <p>
+ * Each new type name used by a registered command gets the next free bit, names are not case sensitive and "All"
+ * matches every type. Looking up a type that no command has registered does not take a bit, it returns {@link #NONE}
+ * which only matches commands of the type "All".
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Log4j2
+public final class CommandTypes {
+
+    /**
+     * This is the mask of a command that has the type "All".
+     */
+    public static final long ALL = ~0L;
+
+    /**
+     * This is the bit of a type that is not known, it will only match commands of the type "All".
+     */
+    public static final long NONE = 0L;
+
+    private static final Map<String, Long> bits = new ConcurrentHashMap<>();
+
+    /**
+     * This is the amount of bits given out, types that did not get a bit are also in the map so it cannot be used.
+     * This is only changed while holding the lock on {@link #bits}.
+     */
+    private static int assignedBits;
+
+    /**
+     * This is the bit of the "Discord" type.
+     */
+    public static final long DISCORD = register("Discord");
+
+    /**
+     * This is the bit of the "Terminal" type.
+     */
+    public static final long TERMINAL = register("Terminal");
+
+    private CommandTypes() {
+    }
+
+    /**
+     * This will return the bit of a single type, this is used for the type of a {@link uk.co.bjdavies.api.command.ICommandContext}.
+     *
+     * @param type - The type name.
+     * @return long - {@link #NONE} if no command has registered the type.
+     */
+    public static long bitOf(String type) {
+        if (type.equalsIgnoreCase("All")) {
+            return ALL;
+        }
+
+        Long bit = bits.get(type.toLowerCase());
+        return bit != null ? bit : NONE;
+    }
+
+    /**
+     * This will return the bit of a type used by a command, giving it the next free bit if it is new.
+     *
+     * @param type - The type name.
+     * @return long
+     */
+    static long register(String type) {
+        if (type.equalsIgnoreCase("All")) {
+            return ALL;
+        }
+
+        Long bit = bits.get(type.toLowerCase());
+        if (bit != null) {
+            return bit;
+        }
+
+        synchronized (bits) {
+            return bits.computeIfAbsent(type.toLowerCase(), k -> {
+                if (assignedBits >= Long.SIZE) {
+                    log.error("Too many command types, type: " + type + " will not match any command.");
+                    return NONE;
+                }
+                return 1L << assignedBits++;
+            });
+        }
+    }
+
+    /**
+     * This will return the mask of a command's types e.g. "Discord|Terminal".
+     *
+     * @param types - The types of the command separated by '|'.
+     * @return long
+     */
+    public static long maskOf(String types) {
+        long mask = NONE;
+        int start = 0;
+        while (start <= types.length()) {
+            int end = types.indexOf('|', start);
+            if (end == -1) {
+                end = types.length();
+            }
+            String type = types.substring(start, end).trim();
+            if (!type.isEmpty()) {
+                mask |= register(type);
+            }
+            start = end + 1;
+        }
+        return mask;
+    }
+
+    /**
+     * This will return true if a command with the mask supports the type, commands of the type "All" support every
+     * type including {@link #NONE}.
+     *
+     * @param mask - The mask of the command.
+     * @param bit  - The bit of the type.
+     * @return boolean
+     */
+    public static boolean supports(long mask, long bit) {
+        return mask == ALL || (mask & bit) != 0;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * This is a character trie of all the registered namespaces, it is used to find the longest namespace that a command
+ * name starts with in one pass over the command name.
+ * <p>
+ * The trie is immutable so it should be rebuilt whenever a namespace is registered or removed.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public final class NamespaceTrie {
+
+    private final Node root;
+
+    /**
+     * This will build the trie from the namespaces.
+     *
+     * @param namespaces - All the registered namespaces.
+     */
+    public NamespaceTrie(Collection<String> namespaces) {
+        this.root = new Node();
+        namespaces.forEach(this::insert);
+    }
+
+    private void insert(String namespace) {
+        Node node = root;
+        for (int i = 0; i < namespace.length(); i++) {
+            node = node.getOrCreateChild(namespace.charAt(i));
+        }
+        node.namespace = namespace;
+    }
+
+    /**
+     * This will return the longest registered namespace that the command name starts with.
+     *
+     * @param commandName - The name of the command including its namespace.
+     * @return String - "" if no namespace matches.
+     */
+    public String findLongestNamespace(String commandName) {
+        Node node = root;
+        String namespace = root.namespace != null ? root.namespace : "";
+        for (int i = 0; i < commandName.length(); i++) {
+            node = node.getChild(commandName.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.namespace != null) {
+                namespace = node.namespace;
+            }
+        }
+
+        return namespace;
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /**
+         * The characters of the children sorted so they can be binary searched.
+         */
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+
+        /**
+         * This is set when a namespace ends at this node.
+         */
+        private String namespace;
+
+        private Node getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrCreateChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -(index + 1);
+            Node child = new Node();
+
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.object.entity.Message;
+import uk.co.bjdavies.api.command.IPrefixResolver;
+import uk.co.bjdavies.api.config.IDiscordConfig;
+
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * This will use the config's prefix until a plugin provides the prefix overrides of guilds.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class PrefixResolver implements IPrefixResolver {
+
+    private final IDiscordConfig config;
+
+    private volatile LongFunction<String> guildPrefixes = guildId -> null;
+
+    public PrefixResolver(IDiscordConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public String getPrefix(Message message) {
+        Optional<Snowflake> guildId = message.getGuildId();
+        if (guildId.isPresent()) {
+            String prefix = guildPrefixes.apply(guildId.get().asLong());
+            if (prefix != null) {
+                return prefix;
+            }
+        }
+        return config.getCommandPrefix();
+    }
+
+    @Override
+    public String localize(Message message, String text) {
+        if (message == null) {
+            return text;
+        }
+
+        String defaultPrefix = config.getCommandPrefix();
+        String prefix = getPrefix(message);
+        if (prefix.equals(defaultPrefix) || !text.startsWith(defaultPrefix)) {
+            return text;
+        }
+        return prefix + text.substring(defaultPrefix.length());
+    }
+
+    @Override
+    public void setGuildPrefixes(LongFunction<String> guildPrefixes) {
+        this.guildPrefixes = guildPrefixes;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.co.bjdavies.api.command.IResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This will pack the string responses a command sends within a short window into as few Discord messages as the
+ * message length limit allows, embeds are kept as their own messages and the order of responses is kept.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public final class ResponseBatcher {
+
+    /**
+     * This is the max length of a Discord message.
+     */
+    public static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private static final Duration WINDOW = Duration.ofMillis(250);
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private ResponseBatcher() {
+    }
+
+    /**
+     * This will batch the responses of a command.
+     *
+     * @param responses - The responses of the command.
+     * @param parser    - This is applied to every string response before it is packed e.g. variable parsing, the
+     *                  responses are parsed concurrently but kept in order.
+     * @return Flux - The packed responses.
+     */
+    public static Flux<IResponse> batch(Flux<IResponse> responses, Function<String, Mono<String>> parser) {
+        return responses
+                .flatMapSequential(response -> response.isStringResponse()
+                        ? parser.apply(response.getStringResponse()).map(ResponseFactory::createStringResponse)
+                        : Mono.just(response))
+                .bufferTimeout(MAX_BATCH_SIZE, WINDOW)
+                .concatMapIterable(ResponseBatcher::pack);
+    }
+
+    private static List<IResponse> pack(List<IResponse> batch) {
+        List<IResponse> packed = new ArrayList<>();
+        StringBuilder message = new StringBuilder();
+        for (IResponse response : batch) {
+            if (response.isStringResponse()) {
+                String text = response.getStringResponse();
+                if (message.length() > 0 && message.length() + 1 + text.length() > MAX_MESSAGE_LENGTH) {
+                    flush(message, packed);
+                }
+
+                if (message.length() > 0) {
+                    message.append('\n');
+                }
+                message.append(text);
+                while (message.length() > MAX_MESSAGE_LENGTH) {
+                    int end = splitPoint(message);
+                    packed.add(ResponseFactory.createStringResponse(message.substring(0, end)));
+                    boolean separator = Character.isWhitespace(message.charAt(end));
+                    message.delete(0, separator ? end + 1 : end);
+                }
+            } else if (response.getEmbedCreateSpecResponse() != null) {
+                flush(message, packed);
+                packed.add(response);
+            }
+        }
+        flush(message, packed);
+        return packed;
+    }
+
+    /**
+     * This will find where to split a message that is too long, the last newline is used so lines and code blocks
+     * are kept together, then the last whitespace. If there is neither the message is split at the limit but never
+     * between the two halves of a surrogate pair.
+     *
+     * @param message - The message that is longer than {@link #MAX_MESSAGE_LENGTH}.
+     * @return int - The end of the first message, the character at this index is dropped if it is whitespace.
+     */
+    private static int splitPoint(StringBuilder message) {
+        int newline = message.lastIndexOf("\n", MAX_MESSAGE_LENGTH);
+        if (newline > 0) {
+            return newline;
+        }
+
+        for (int i = MAX_MESSAGE_LENGTH; i > 0; i--) {
+            if (Character.isWhitespace(message.charAt(i))) {
+                return i;
+            }
+        }
+
+        return Character.isHighSurrogate(message.charAt(MAX_MESSAGE_LENGTH - 1))
+                ? MAX_MESSAGE_LENGTH - 1
+                : MAX_MESSAGE_LENGTH;
+    }
+
+    private static void flush(StringBuilder message, List<IResponse> packed) {
+        if (message.length() > 0) {
+            packed.add(ResponseFactory.createStringResponse(message.toString()));
+            message.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * This is a short lived cache of the "Command Not Found" reply for command names that do not exist, so a user
+ * repeating a typo does not cause a suggestion search each time.
+ * <p>
+ * Each {@link CommandRegistry} snapshot owns its own cache so it is dropped whenever the commands change.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class UnknownCommandCache {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private final Map<String, Entry> replies = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    /**
+     * @param ttlMillis - How long a reply is kept for.
+     */
+    public UnknownCommandCache(long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * This will return the cached reply for the command or build and cache a new one if it has expired.
+     *
+     * @param type        - The type of command, see {@link CommandTypes#bitOf(String)}.
+     * @param commandName - The command name the user entered including its namespace.
+     * @param reply       - This will build the reply when it is not cached.
+     * @return String
+     */
+    public String get(long type, String commandName, Supplier<String> reply) {
+        String key = Long.toHexString(type) + ':' + commandName.toLowerCase();
+        long now = System.nanoTime();
+        Entry entry = replies.get(key);
+        if (entry != null && now - entry.createdAt < ttlNanos) {
+            return entry.reply;
+        }
+
+        if (replies.size() >= MAX_ENTRIES) {
+            replies.values().removeIf(e -> now - e.createdAt >= ttlNanos);
+            if (replies.size() >= MAX_ENTRIES) {
+                replies.clear();
+            }
+        }
+
+        String value = reply.get();
+        replies.put(key, new Entry(value, now));
+        return value;
+    }
+
+    private static class Entry {
+        private final String reply;
+
+        private final long createdAt;
+
+        private Entry(String reply, long createdAt) {
+            this.reply = reply;
+            this.createdAt = createdAt;
+        }
+    }
+}
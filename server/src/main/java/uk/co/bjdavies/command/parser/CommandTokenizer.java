@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command.parser;
+
+/**
+ * This will split a command into its name, parameters and value in a single pass over the message.
+ * <p>
+ * e.g. {@code play -volume=50 -loop -title="My \"Best\" Song" some value}
+ * <ul>
+ *     <li>The name is everything up to the first whitespace.</li>
+ *     <li>{@code -key=value} is a parameter, the value can be quoted to include spaces, a backslash escapes the
+ *     next character inside quotes.</li>
+ *     <li>{@code -flag} is a parameter with an empty value.</li>
+ *     <li>Everything else is the value of the command.</li>
+ * </ul>
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class CommandTokenizer {
+
+    private final String message;
+
+    private final int length;
+
+    private int position;
+
+    private final String commandName;
+
+    private final ParameterTable parameters;
+
+    private final String value;
+
+    /**
+     * This will tokenize the message.
+     *
+     * @param message - The message without the command prefix.
+     */
+    public CommandTokenizer(String message) {
+        this.message = message;
+        this.length = message.length();
+        this.parameters = new ParameterTable(message);
+        this.commandName = message.substring(0, skipWord());
+        this.value = tokenize();
+    }
+
+    /**
+     * This will read the parameters and return the value.
+     *
+     * @return String
+     */
+    private String tokenize() {
+        int valueStart = -1;
+        int valueEnd = -1;
+        boolean parameterInValue = false;
+        StringBuilder builder = null;
+
+        while (skipWhitespace() < length) {
+            int tokenStart = position;
+            if (readParameter()) {
+                parameterInValue = valueStart != -1;
+                continue;
+            }
+
+            position = tokenStart;
+            int tokenEnd = skipWord();
+            if (valueStart == -1) {
+                valueStart = tokenStart;
+            } else if (parameterInValue) {
+                if (builder == null) {
+                    builder = new StringBuilder(length).append(message, valueStart, valueEnd);
+                }
+                builder.append(' ').append(message, tokenStart, tokenEnd);
+                parameterInValue = false;
+            } else if (builder != null) {
+                builder.append(message, valueEnd, tokenEnd);
+            }
+            valueEnd = tokenEnd;
+        }
+
+        if (builder != null) {
+            return builder.toString();
+        }
+        return valueStart == -1 ? "" : message.substring(valueStart, valueEnd);
+    }
+
+    /**
+     * This will read a {@code -key=value} or {@code -flag} parameter at the current position.
+     *
+     * @return boolean - false if the token is not a parameter, the position is left somewhere inside the token.
+     */
+    private boolean readParameter() {
+        if (message.charAt(position) != '-') {
+            return false;
+        }
+
+        int nameStart = ++position;
+        while (position < length && isNameChar(message.charAt(position))) {
+            position++;
+        }
+        int nameEnd = position;
+        if (nameEnd == nameStart) {
+            return false;
+        }
+
+        if (position == length || Character.isWhitespace(message.charAt(position))) {
+            parameters.add(nameStart, nameEnd, position, position);
+            return true;
+        }
+
+        if (message.charAt(position) != '=') {
+            return false;
+        }
+        position++;
+
+        if (position < length && message.charAt(position) == '"') {
+            readQuoted(nameStart, nameEnd);
+        } else {
+            int valueStart = position;
+            parameters.add(nameStart, nameEnd, valueStart, skipWord());
+        }
+        return true;
+    }
+
+    /**
+     * This will read a quoted value, the quotes are removed and escaped characters are unescaped.
+     * If the closing quote is missing the value runs to the end of the message.
+     *
+     * @param nameStart - The offset of the parameter's name.
+     * @param nameEnd   - The offset after the parameter's name.
+     */
+    private void readQuoted(int nameStart, int nameEnd) {
+        int start = ++position;
+        StringBuilder unescaped = null;
+        while (position < length) {
+            char c = message.charAt(position);
+            if (c == '"') {
+                break;
+            }
+
+            if (c == '\\' && position + 1 < length) {
+                if (unescaped == null) {
+                    unescaped = new StringBuilder();
+                }
+                unescaped.append(message, start, position).append(message.charAt(position + 1));
+                position += 2;
+                start = position;
+            } else {
+                position++;
+            }
+        }
+
+        if (unescaped == null) {
+            parameters.add(nameStart, nameEnd, start, position);
+        } else {
+            parameters.add(nameStart, nameEnd, unescaped.append(message, start, position).toString());
+        }
+        if (position < length) {
+            position++;
+        }
+    }
+
+    private int skipWord() {
+        while (position < length && !Character.isWhitespace(message.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private int skipWhitespace() {
+        while (position < length && Character.isWhitespace(message.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public ParameterTable getParameters() {
+        return parameters;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
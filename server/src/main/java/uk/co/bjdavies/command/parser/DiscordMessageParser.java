@@ -26,20 +26,14 @@
 package uk.co.bjdavies.command.parser;
 
 import discord4j.core.object.entity.Message;
-import lombok.extern.slf4j.Slf4j;
 import uk.co.bjdavies.api.command.ICommandContext;
 import uk.co.bjdavies.command.CommandContext;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import uk.co.bjdavies.command.CommandTypes;
 
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
  */
-@Slf4j
 public class DiscordMessageParser implements MessageParser {
     /**
      * This is the message that was created when the message was sent.
@@ -64,99 +58,8 @@ public class DiscordMessageParser implements MessageParser {
      */
     @Override
     public ICommandContext parseString(String message) {
-        return new CommandContext(parseCommandName(message).toLowerCase(), parseParams(message), parseValue(message), "Discord", this.message);
-    }
-
-
-    /**
-     * This will parse the value of the command if there is one.
-     *
-     * @param message - The raw inputted message.
-     * @return String
-     */
-    private String parseValue(String message) {
-        Matcher matcher = getParameterMatcher(message);
-        message = message.replace(parseCommandName(message), "");
-        while (matcher.find()) {
-            message = message.replace(matcher.group().trim(), "");
-        }
-
-
-        matcher = getRawParameters(message);
-        while (matcher.find()) {
-            message = message.replace(matcher.group().trim(), "");
-        }
-
-
-        message = message.trim();
-        return message;
-    }
-
-
-    /**
-     * This will parse the command name from the message.
-     *
-     * @param message - The raw inputted message.
-     * @return String
-     */
-    private String parseCommandName(String message) {
-        int indexOfFirstSpace = message.indexOf(" ");
-
-        if (indexOfFirstSpace == -1) {
-            return message;
-        } else {
-            return message.substring(0, indexOfFirstSpace).trim();
-        }
-    }
-
-
-    /**
-     * This will parse the parameters from the inputted message
-     *
-     * @param message - The raw inputted message.
-     * @return Map(String, String)
-     */
-    private Map<String, String> parseParams(String message) {
-        Map<String, String> params = new HashMap<>();
-        Matcher matcher = getParameterMatcher(message);
-        String copy = new String(message.getBytes());
-        while (matcher.find()) {
-            String name = matcher.group(1).trim();
-            String value = matcher.group(2).replaceAll("\"", "").trim();
-            params.put(name, value);
-            copy = copy.replace(matcher.group().trim(), "");
-        }
-
-        matcher = getRawParameters(copy);
-
-        while (matcher.find()) {
-            String name = matcher.group(1).trim();
-            params.put(name, "");
-        }
-
-        return params;
-    }
-
-
-    /**
-     * This will parse the parameters in the message and return a Matcher.
-     *
-     * @param message - The raw inputted message.
-     * @return Matcher
-     */
-    private Matcher getParameterMatcher(String message) {
-        String parameterRegex = " -([a-zA-Z0-9]+)=(([a-zA-Z0-9:/?=&_.\\-]+)|(\"([a-zA-Z0-9:/?=&_.\\-]+)\"))";
-
-        Pattern pattern = Pattern.compile(parameterRegex);
-
-        return pattern.matcher(message);
-    }
-
-    private Matcher getRawParameters(String message) {
-        String parameterRegex = " -([a-zA-Z0-9]+)";
-
-        Pattern pattern = Pattern.compile(parameterRegex);
-
-        return pattern.matcher(message);
+        CommandTokenizer tokenizer = new CommandTokenizer(message);
+        return new CommandContext(tokenizer.getCommandName().toLowerCase(), tokenizer.getParameters(),
+                tokenizer.getValue(), "Discord", CommandTypes.DISCORD, this.message);
     }
 }
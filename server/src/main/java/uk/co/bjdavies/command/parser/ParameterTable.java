@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command.parser;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This is the parameters of a command stored as offsets into the message they were parsed from, a parameter's
+ * name and value are only turned into Strings when they are asked for.
+ * <p>
+ * If a parameter is given more than once the last one is used.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public class ParameterTable {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final CharSequence source;
+
+    private int size;
+
+    private int[] nameStarts;
+
+    private int[] nameEnds;
+
+    private int[] valueStarts;
+
+    private int[] valueEnds;
+
+    /**
+     * These are the values that have been turned into Strings, or values that are not a plain slice of the source
+     * e.g. quoted values with escapes.
+     */
+    private String[] values;
+
+    /**
+     * @param source - The message the parameters are parsed from.
+     */
+    public ParameterTable(CharSequence source) {
+        this.source = source;
+    }
+
+    /**
+     * This will create a table from already parsed parameters.
+     *
+     * @param parameters - Key: name -> value
+     * @return ParameterTable
+     */
+    public static ParameterTable of(Map<String, String> parameters) {
+        StringBuilder source = new StringBuilder();
+        parameters.forEach((name, value) -> source.append(name).append(value));
+        ParameterTable table = new ParameterTable(source);
+        int offset = 0;
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            int valueStart = offset + parameter.getKey().length();
+            int valueEnd = valueStart + parameter.getValue().length();
+            table.add(offset, valueStart, valueStart, valueEnd);
+            offset = valueEnd;
+        }
+        return table;
+    }
+
+    /**
+     * This will add a parameter whose value is a slice of the source.
+     *
+     * @param nameStart  - The offset of the first character of the name.
+     * @param nameEnd    - The offset after the last character of the name.
+     * @param valueStart - The offset of the first character of the value.
+     * @param valueEnd   - The offset after the last character of the value.
+     */
+    public void add(int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        if (nameStarts == null) {
+            nameStarts = new int[INITIAL_CAPACITY];
+            nameEnds = new int[INITIAL_CAPACITY];
+            valueStarts = new int[INITIAL_CAPACITY];
+            valueEnds = new int[INITIAL_CAPACITY];
+        } else if (size == nameStarts.length) {
+            int capacity = size * 2;
+            nameStarts = Arrays.copyOf(nameStarts, capacity);
+            nameEnds = Arrays.copyOf(nameEnds, capacity);
+            valueStarts = Arrays.copyOf(valueStarts, capacity);
+            valueEnds = Arrays.copyOf(valueEnds, capacity);
+            if (values != null) {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+
+        nameStarts[size] = nameStart;
+        nameEnds[size] = nameEnd;
+        valueStarts[size] = valueStart;
+        valueEnds[size] = valueEnd;
+        size++;
+    }
+
+    /**
+     * This will add a parameter whose value is not a slice of the source.
+     *
+     * @param nameStart - The offset of the first character of the name.
+     * @param nameEnd   - The offset after the last character of the name.
+     * @param value     - The value of the parameter.
+     */
+    public void add(int nameStart, int nameEnd, String value) {
+        add(nameStart, nameEnd, 0, value.length());
+        valuesArray()[size - 1] = value;
+    }
+
+    private String[] valuesArray() {
+        if (values == null) {
+            values = new String[nameStarts.length];
+        }
+        return values;
+    }
+
+    /**
+     * This will return the index of the parameter or -1 if there is no parameter with that name.
+     */
+    private int indexOf(String name) {
+        int length = name.length();
+        for (int i = size - 1; i >= 0; i--) {
+            if (nameEnds[i] - nameStarts[i] == length && regionMatches(nameStarts[i], name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(int offset, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (source.charAt(offset + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This will return true if the parameter is present.
+     *
+     * @param name - The name of the parameter.
+     * @return boolean
+     */
+    public boolean contains(String name) {
+        return indexOf(name) != -1;
+    }
+
+    /**
+     * This will return true if the parameter is present and has a value.
+     *
+     * @param name - The name of the parameter.
+     * @return boolean
+     */
+    public boolean containsNonEmpty(String name) {
+        int index = indexOf(name);
+        return index != -1 && valueEnds[index] > valueStarts[index];
+    }
+
+    /**
+     * This will return the value of the parameter.
+     *
+     * @param name - The name of the parameter.
+     * @return String or null if the parameter is not present.
+     */
+    public String get(String name) {
+        int index = indexOf(name);
+        return index == -1 ? null : valueAt(index);
+    }
+
+    private String valueAt(int index) {
+        String[] values = valuesArray();
+        if (values[index] == null) {
+            values[index] = source.subSequence(valueStarts[index], valueEnds[index]).toString();
+        }
+        return values[index];
+    }
+}
@@ -25,6 +25,8 @@
 
 package uk.co.bjdavies.command.response;
 
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxProcessor;
 import reactor.core.publisher.Mono;
@@ -35,63 +37,59 @@ import java.lang.reflect.Type;
 
 
 /**
+ * This will turn the object a command responds with into {@link IResponse}s, a handler does not hold any state for a
+ * single command so it can be resolved once for a type and reused.
+ *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.2.7
  */
 public abstract class ResponseHandler {
 
-    private final FluxProcessor<IResponse, IResponse> processor;
     private final Type type;
 
+    private final boolean flux;
+
+    private final boolean mono;
 
-    protected ResponseHandler(Type type, FluxProcessor<IResponse, IResponse> processor) {
-        this.processor = processor;
-        this.type = type;
 
+    protected ResponseHandler(Type type) {
+        this.type = type;
+        Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        this.flux = rawType == Flux.class;
+        this.mono = rawType == Mono.class;
     }
 
-    public void handle(Object o) {
-        if (isAFlux()) {
+    /**
+     * This will push the response into the processor.
+     *
+     * @param o         - The response object.
+     * @param processor - The processor of the command's responses.
+     * @return Disposable - This will cancel a reactive response that is still running.
+     */
+    public Disposable handle(Object o, FluxProcessor<IResponse, IResponse> processor) {
+        if (flux) {
             //noinspection unchecked
-            handleFlux(((Flux<Object>) o).map(this::getResponse));
-        } else if (isAMono()) {
+            return ((Flux<Object>) o).map(this::getResponse)
+                    .subscribe(processor::onNext, null, processor::onComplete);
+        } else if (mono) {
             //noinspection unchecked
-            handleMono(((Mono<Object>) o).map(this::getResponse));
+            return ((Mono<Object>) o).map(this::getResponse)
+                    .subscribe(processor::onNext, null, processor::onComplete);
         } else {
-            handleBase(getResponse(o));
-        }
-    }
-
-    protected abstract <T> IResponse getResponse(T o);
-
-    private boolean isParamType() {
-        return type instanceof ParameterizedType;
-    }
-
-    private boolean isAFlux() {
-        if (isParamType()) {
-            return ((ParameterizedType) type).getRawType() == Flux.class;
-        }
-        return false;
-    }
-
-    private boolean isAMono() {
-        if (isParamType()) {
-            return ((ParameterizedType) type).getRawType() == Mono.class;
+            processor.onNext(getResponse(o));
+            processor.onComplete();
+            return Disposables.disposed();
         }
-        return false;
     }
 
-    private void handleFlux(Flux<IResponse> responses) {
-        responses.subscribe(processor::onNext, null, processor::onComplete);
+    /**
+     * This will return the type of object this handler was resolved for.
+     *
+     * @return Type
+     */
+    public Type getType() {
+        return type;
     }
 
-    private void handleMono(Mono<IResponse> response) {
-        response.subscribe(processor::onNext, null, processor::onComplete);
-    }
-
-    private void handleBase(IResponse response) {
-        processor.onNext(response);
-        processor.onComplete();
-    }
+    protected abstract <T> IResponse getResponse(T o);
 }
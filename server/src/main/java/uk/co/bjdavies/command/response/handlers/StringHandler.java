@@ -25,7 +25,6 @@
 
 package uk.co.bjdavies.command.response.handlers;
 
-import reactor.core.publisher.FluxProcessor;
 import uk.co.bjdavies.api.command.IResponse;
 import uk.co.bjdavies.command.ResponseFactory;
 import uk.co.bjdavies.command.response.ResponseHandler;
@@ -38,8 +37,8 @@ import java.lang.reflect.Type;
  */
 public class StringHandler extends ResponseHandler {
 
-    public StringHandler(Type type, FluxProcessor<IResponse, IResponse> processor) {
-        super(type, processor);
+    public StringHandler(Type type) {
+        super(type);
     }
 
     @Override
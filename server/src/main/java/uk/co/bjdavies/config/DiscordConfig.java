@@ -56,6 +56,18 @@ public class DiscordConfig implements IDiscordConfig {
     @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
     private String shutdownPassword = "password";
 
+    /**
+     * This is the time between "Command Not Found" replies in the same channel.
+     */
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    private long commandNotFoundCooldown = 5000;
+
+    /**
+     * This is the max amount of messages that can be waiting to be sent to a channel.
+     */
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    private int outboundQueueCapacity = 50;
+
 
     /**
      * This will return the token.
@@ -84,4 +96,14 @@ public class DiscordConfig implements IDiscordConfig {
     public String getShutdownPassword() {
         return shutdownPassword;
     }
+
+    @Override
+    public long getCommandNotFoundCooldown() {
+        return commandNotFoundCooldown;
+    }
+
+    @Override
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
 }
@@ -45,6 +45,30 @@ public class SystemConfig implements ISystemConfig {
      */
     private final boolean debug = true;
 
+    /**
+     * This is how many threads the commands of each namespace can use.
+     */
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    private int commandThreadsPerNamespace = 4;
+
+    /**
+     * This is how many commands of each namespace can wait for a thread before they are rejected.
+     */
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    private int commandQueuePerNamespace = 100;
+
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    private String commandOverloadedMessage = "I'm too busy to run that command right now, please try again later.";
+
+    /**
+     * This is how long a command has to send its responses before it is cancelled.
+     */
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    private long commandTimeout = 60000;
+
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    private String commandTimeoutMessage = "That command took too long to respond and has been cancelled.";
+
 
     @Override
     public boolean isAutoUpdateOn() {
@@ -60,4 +84,29 @@ public class SystemConfig implements ISystemConfig {
         return debug;
     }
 
+    @Override
+    public int getCommandThreadsPerNamespace() {
+        return commandThreadsPerNamespace;
+    }
+
+    @Override
+    public int getCommandQueuePerNamespace() {
+        return commandQueuePerNamespace;
+    }
+
+    @Override
+    public String getCommandOverloadedMessage() {
+        return commandOverloadedMessage;
+    }
+
+    @Override
+    public long getCommandTimeout() {
+        return commandTimeout;
+    }
+
+    @Override
+    public String getCommandTimeoutMessage() {
+        return commandTimeoutMessage;
+    }
+
 }
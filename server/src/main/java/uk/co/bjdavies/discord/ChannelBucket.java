@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.discord;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * This is a token bucket for the messages sent to one channel, it is modeled on Discord's rate limit buckets so it
+ * starts with Discord's documented limit and is corrected by the X-RateLimit headers whenever Discord sends them back.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+class ChannelBucket {
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final String RESET_AFTER_HEADER = "X-RateLimit-Reset-After";
+
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final int limit;
+
+    private final long windowNanos;
+
+    private int remaining;
+
+    private long resetAt;
+
+    /**
+     * @param limit        - The amount of messages that can be sent within the window.
+     * @param windowMillis - The time in milliseconds before the bucket is refilled.
+     */
+    ChannelBucket(int limit, long windowMillis) {
+        this.limit = limit;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.remaining = limit;
+        this.resetAt = System.nanoTime();
+    }
+
+    /**
+     * This will complete once a message can be sent, taking a token from the bucket.
+     *
+     * @return Mono - Completes when a token has been taken.
+     */
+    Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long wait = tryAcquire(System.nanoTime());
+            if (wait <= 0) {
+                return Mono.empty();
+            }
+            return Mono.delay(Duration.ofNanos(wait)).then(acquire());
+        });
+    }
+
+    /**
+     * This will take a token if there is one.
+     *
+     * @param now - The current time in nanos.
+     * @return long - 0 if a token was taken else the nanos to wait until the bucket is refilled.
+     */
+    synchronized long tryAcquire(long now) {
+        if (now - resetAt >= 0) {
+            remaining = limit;
+            resetAt = now + windowNanos;
+        }
+
+        if (remaining > 0) {
+            remaining--;
+            return 0;
+        }
+        return resetAt - now;
+    }
+
+    /**
+     * This will correct the bucket from the rate limit headers of a Discord response.
+     *
+     * @param headers - The headers of the response.
+     */
+    synchronized void update(HttpHeaders headers) {
+        String remainingHeader = headers.get(REMAINING_HEADER);
+        String resetAfterHeader = headers.get(RESET_AFTER_HEADER, headers.get(RETRY_AFTER_HEADER));
+        try {
+            if (remainingHeader != null) {
+                remaining = Integer.parseInt(remainingHeader);
+            }
+            if (resetAfterHeader != null) {
+                resetAt = System.nanoTime() + (long) (Double.parseDouble(resetAfterHeader) * 1_000_000_000L);
+                if (remainingHeader == null) {
+                    remaining = 0;
+                }
+            }
+        } catch (NumberFormatException ignored) {
+            //Malformed headers keep the current state of the bucket.
+        }
+    }
+
+    /**
+     * This will return true if the bucket is full and so can be thrown away.
+     *
+     * @param now - The current time in nanos.
+     * @return boolean
+     */
+    synchronized boolean isRefilled(long now) {
+        return now - resetAt >= 0;
+    }
+}
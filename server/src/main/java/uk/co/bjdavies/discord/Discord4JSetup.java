@@ -35,6 +35,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.config.IDiscordConfig;
+import uk.co.bjdavies.discord.services.BotColorService;
 import uk.co.bjdavies.discord.services.Discord4JBotMessageService;
 
 /**
@@ -76,6 +77,6 @@ public class Discord4JSetup {
     public void startServices() {
         Discord4JBotMessageService messageService = application.get(Discord4JBotMessageService.class);
         messageService.register();
-
+        application.get(BotColorService.class).register();
     }
 }
@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.discord;
+
+import discord4j.rest.http.client.ClientException;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.core.scheduler.Schedulers;
+import uk.co.bjdavies.api.config.IDiscordConfig;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This is the one place messages are sent to Discord from, each channel has its own FIFO queue which is paced by a
+ * token bucket so messages to a channel are sent in order and without running into Discord's rate limits.
+ * <p>
+ * The {@link Mono} returned from {@link #send(long, Mono)} completes when the message has been sent, so a caller
+ * that waits on it before sending the next message will be slowed down to the rate of the channel.
+ * </p>
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Log4j2
+public class OutboundMessageDispatcher {
+
+    /**
+     * This is Discord's documented limit for messages sent to one channel.
+     */
+    private static final int CHANNEL_LIMIT = 5;
+
+    private static final long CHANNEL_WINDOW = 5000;
+
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * This is how long a request can take before it is failed so it does not hold up the rest of the channel's queue.
+     */
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Map<Long, ChannelQueue> queues = new ConcurrentHashMap<>();
+
+    private final int queueCapacity;
+
+    private final Duration sendTimeout;
+
+    private final Disposable sweeper;
+
+    public OutboundMessageDispatcher(IDiscordConfig config) {
+        this(config.getOutboundQueueCapacity(), SEND_TIMEOUT);
+    }
+
+    /**
+     * @param queueCapacity - The max amount of requests waiting for a channel, 0 or less will not limit the queue.
+     * @param sendTimeout   - How long a request can take before it is failed with a {@link TimeoutException}.
+     */
+    OutboundMessageDispatcher(int queueCapacity, Duration sendTimeout) {
+        this.queueCapacity = queueCapacity;
+        this.sendTimeout = sendTimeout;
+        this.sweeper = Flux.interval(SWEEP_INTERVAL, Schedulers.parallel())
+                .subscribe(i -> sweep());
+    }
+
+    /**
+     * This will queue a request to the channel and send it once the channel's bucket allows it.
+     *
+     * @param channelId - The id of the channel the request sends to.
+     * @param request   - The request to send, this is subscribed to when it is at the front of the queue.
+     * @param <T>       - The type of the result.
+     * @return Mono - The result of the request once it has been sent, this will error with a
+     * {@link RejectedExecutionException} if the channel's queue is full or a {@link TimeoutException} if the request
+     * did not finish in time.
+     */
+    public <T> Mono<T> send(long channelId, Mono<T> request) {
+        return Mono.create(sink -> {
+            RequestTask<T> task = new RequestTask<>(request.timeout(sendTimeout), sink);
+            boolean[] accepted = new boolean[1];
+            queues.compute(channelId, (id, queue) -> {
+                if (queue == null) {
+                    queue = new ChannelQueue(id);
+                }
+                if (queueCapacity <= 0 || queue.depth < queueCapacity) {
+                    queue.depth++;
+                    accepted[0] = true;
+                }
+                return queue;
+            }).offer(task, accepted[0]);
+
+            if (!accepted[0]) {
+                log.warn("Rejected message to channel: " + channelId + ", outbound queue is full");
+                sink.error(new RejectedExecutionException("Outbound queue for channel: " + channelId + " is full"));
+            }
+        });
+    }
+
+    /**
+     * This will return the amount of requests waiting to be sent to the channel.
+     *
+     * @param channelId - The id of the channel.
+     * @return int
+     */
+    public int getQueueDepth(long channelId) {
+        ChannelQueue queue = queues.get(channelId);
+        return queue == null ? 0 : queue.depth;
+    }
+
+    /**
+     * This will return the amount of requests waiting to be sent across all channels.
+     *
+     * @return int
+     */
+    public int getTotalQueueDepth() {
+        return queues.values().stream().mapToInt(q -> q.depth).sum();
+    }
+
+    /**
+     * This will return the amount of requests waiting to be sent for each channel that has a queue.
+     *
+     * @return Map - channel id to queue depth.
+     */
+    public Map<Long, Integer> getQueueDepths() {
+        Map<Long, Integer> depths = new HashMap<>();
+        queues.forEach((id, queue) -> depths.put(id, queue.depth));
+        return Collections.unmodifiableMap(depths);
+    }
+
+    /**
+     * This will stop sending messages, anything still queued is dropped.
+     */
+    public void shutdown() {
+        sweeper.dispose();
+        queues.values().forEach(ChannelQueue::dispose);
+        queues.clear();
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        queues.keySet().forEach(id -> queues.computeIfPresent(id, (key, queue) -> {
+            if (queue.depth == 0 && queue.bucket.isRefilled(now)) {
+                queue.dispose();
+                return null;
+            }
+            return queue;
+        }));
+    }
+
+    private void complete(long channelId) {
+        queues.computeIfPresent(channelId, (id, queue) -> {
+            queue.depth--;
+            return queue;
+        });
+    }
+
+    private final class ChannelQueue {
+
+        private final ChannelBucket bucket = new ChannelBucket(CHANNEL_LIMIT, CHANNEL_WINDOW);
+
+        private final FluxSink<RequestTask<?>> sink;
+
+        private final Disposable subscription;
+
+        /**
+         * This is only changed inside of {@link Map#compute} on the queues map.
+         */
+        private volatile int depth;
+
+        private ChannelQueue(long channelId) {
+            UnicastProcessor<RequestTask<?>> processor = UnicastProcessor.create();
+            this.sink = processor.sink();
+            this.subscription = processor
+                    .concatMap(task -> bucket.acquire()
+                            .then(task.run(bucket))
+                            .doFinally(s -> complete(channelId)))
+                    .subscribe();
+        }
+
+        private void offer(RequestTask<?> task, boolean accepted) {
+            if (accepted) {
+                sink.next(task);
+            }
+        }
+
+        private void dispose() {
+            sink.complete();
+            subscription.dispose();
+        }
+    }
+
+    private static final class RequestTask<T> {
+
+        private final Mono<T> request;
+
+        private final MonoSink<T> result;
+
+        private RequestTask(Mono<T> request, MonoSink<T> result) {
+            this.request = request;
+            this.result = result;
+        }
+
+        private Mono<Void> run(ChannelBucket bucket) {
+            return request
+                    .doOnSuccess(result::success)
+                    .doOnError(e -> {
+                        if (e instanceof ClientException) {
+                            bucket.update(((ClientException) e).getHeaders());
+                        }
+                        result.error(e);
+                    })
+                    .onErrorResume(e -> Mono.empty())
+                    .then();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.discord.services;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import discord4j.common.util.Snowflake;
+import discord4j.core.GatewayDiscordClient;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
+import discord4j.core.event.domain.guild.MemberUpdateEvent;
+import discord4j.core.event.domain.role.RoleDeleteEvent;
+import discord4j.core.event.domain.role.RoleUpdateEvent;
+import discord4j.core.object.entity.Member;
+import discord4j.rest.util.Color;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This will cache the bot's display color in each guild so embed responses can be decorated without looking up the
+ * bot's member every time, the color of a guild is dropped whenever a role in it or the bot's roles change.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Log4j2
+@Singleton
+public class BotColorService {
+
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+
+    private final GatewayDiscordClient client;
+
+    private final Map<Long, Mono<Color>> colors = new ConcurrentHashMap<>();
+
+    @Inject
+    public BotColorService(GatewayDiscordClient client) {
+        this.client = client;
+    }
+
+    /**
+     * This will listen for the events that can change the bot's color.
+     */
+    public void register() {
+        client.getEventDispatcher().on(RoleUpdateEvent.class)
+          .subscribe(e -> invalidate(e.getCurrent().getGuildId()));
+        client.getEventDispatcher().on(RoleDeleteEvent.class)
+          .subscribe(e -> invalidate(e.getGuildId()));
+        client.getEventDispatcher().on(MemberUpdateEvent.class)
+          .filter(e -> e.getMemberId().equals(client.getSelfId()))
+          .subscribe(e -> invalidate(e.getGuildId()));
+        client.getEventDispatcher().on(GuildDeleteEvent.class)
+          .subscribe(e -> invalidate(e.getGuildId()));
+    }
+
+    /**
+     * This will return the bot's display color in the guild, looking it up the first time it is asked for.
+     *
+     * @param guildId - The id of the guild.
+     * @return Mono - The color, empty if the bot has no colored role.
+     */
+    public Mono<Color> getColor(Snowflake guildId) {
+        return colors.computeIfAbsent(guildId.asLong(), id -> client.getMemberById(guildId, client.getSelfId())
+          .flatMap(Member::getColor)
+          .doOnError(e -> log.warn("Unable to get the bot's color in guild: " + id, e))
+          .cache(color -> FOREVER, e -> Duration.ZERO, () -> FOREVER));
+    }
+
+    private void invalidate(Snowflake guildId) {
+        colors.remove(guildId.asLong());
+    }
+}
@@ -28,17 +28,14 @@ package uk.co.bjdavies.discord.services;
 import com.google.inject.Inject;
 import discord4j.core.GatewayDiscordClient;
 import discord4j.core.event.domain.message.MessageCreateEvent;
-import discord4j.core.object.entity.User;
+import discord4j.core.object.entity.Message;
 import lombok.extern.log4j.Log4j2;
-import reactor.core.publisher.Mono;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
-import uk.co.bjdavies.api.config.IDiscordConfig;
+import uk.co.bjdavies.api.command.IPrefixResolver;
 import uk.co.bjdavies.command.CommandDispatcher;
 import uk.co.bjdavies.command.parser.DiscordMessageParser;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
@@ -48,36 +45,60 @@ public class Discord4JBotMessageService {
 
     private final GatewayDiscordClient client;
 
-    private final IDiscordConfig config;
+    private final IPrefixResolver prefixResolver;
 
     private final IApplication application;
 
     private final ICommandDispatcher commandDispatcher;
 
     @Inject
-    public Discord4JBotMessageService(GatewayDiscordClient client, IDiscordConfig config, IApplication application,
-      ICommandDispatcher commandDispatcher) {
+    public Discord4JBotMessageService(GatewayDiscordClient client, IPrefixResolver prefixResolver,
+      IApplication application, ICommandDispatcher commandDispatcher) {
         this.client = client;
-        this.config = config;
+        this.prefixResolver = prefixResolver;
         this.application = application;
         this.commandDispatcher = commandDispatcher;
     }
 
+    /**
+     * This will listen for commands, the checks are ordered cheapest first and only use the event's payload so
+     * messages that are not commands do not cause any gateway, REST or database lookups. Only messages sent inside of
+     * a guild are handled, the same as when the author was resolved as a member. The prefix of the message's guild is
+     * resolved by the {@link IPrefixResolver} which must not block.
+     */
     public void register() {
-        AtomicBoolean hasSentMessage = new AtomicBoolean(false);
         client.getEventDispatcher().on(MessageCreateEvent.class)
-          .subscribe(e ->
-            Mono.justOrEmpty(e.getMessage().getContent())
-              .filter(m -> m.startsWith(config.getCommandPrefix()))
-              .filterWhen(m ->
-                e.getMessage()
-                  .getAuthorAsMember()
-                  .map(User::isBot)
-                  .map(isBot -> !isBot)
-              ).subscribe(m -> {
-                CommandDispatcher cd = (CommandDispatcher) commandDispatcher;
-                cd.execute(new DiscordMessageParser(e.getMessage()), m.replace(config.getCommandPrefix(), ""),
-                  application);
-            }));
+          .map(MessageCreateEvent::getMessage)
+          .subscribe(this::handleMessage);
+    }
+
+    private void handleMessage(Message message) {
+        if (!message.getGuildId().isPresent()) {
+            return;
+        }
+
+        String prefix = prefixResolver.getPrefix(message);
+        String content = message.getContent();
+        if (content.startsWith(prefix) && isFromUser(message)) {
+            execute(message, content.substring(prefix.length()));
+        }
+    }
+
+    /**
+     * This will return true if the message was sent by a user, not a bot or a webhook.
+     *
+     * @param message - The message.
+     * @return boolean
+     */
+    private static boolean isFromUser(Message message) {
+        return !message.getWebhookId().isPresent() && message.getAuthor().map(u -> !u.isBot()).orElse(false);
+    }
+
+    private void execute(Message message, String command) {
+        try {
+            ((CommandDispatcher) commandDispatcher).execute(new DiscordMessageParser(message), command, application);
+        } catch (RuntimeException e) {
+            log.error("Error in the command dispatcher.", e);
+        }
     }
 }
@@ -51,4 +51,9 @@ public class SystemController {
         return service.eventsSse(res);
     }
 
+    @Get
+    public Publisher<Void> outbound(HttpServerRequest req, HttpServerResponse res) {
+        return service.outboundQueues(res);
+    }
+
 }
@@ -25,14 +25,17 @@
 
 package uk.co.bjdavies.http.controllers;
 
+import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import discord4j.core.event.domain.message.MessageCreateEvent;
 import discord4j.core.object.entity.User;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.server.HttpServerResponse;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.discord.IDiscordFacade;
+import uk.co.bjdavies.discord.OutboundMessageDispatcher;
 import uk.co.bjdavies.http.WebServer;
 
 /**
@@ -43,11 +46,13 @@ public class SystemService {
 
     private final IDiscordFacade facade;
     private final IApplication application;
+    private final OutboundMessageDispatcher outbound;
 
     @Inject
-    public SystemService(IDiscordFacade facade, IApplication application) {
+    public SystemService(IDiscordFacade facade, IApplication application, OutboundMessageDispatcher outbound) {
         this.facade = facade;
         this.application = application;
+        this.outbound = outbound;
     }
 
     public Publisher<Void> eventsSse(HttpServerResponse res) {
@@ -58,10 +63,7 @@ public class SystemService {
             .getClient()
             .getEventDispatcher()
             .on(MessageCreateEvent.class)
-            .filterWhen(m ->
-              m.getMessage()
-                .getAuthorAsMember()
-                .map(User::isBot))
+            .filter(m -> m.getMessage().getAuthor().map(User::isBot).orElse(false))
             .map(m ->
               WebServer.toByteBuf(m.
                 getMessage().
@@ -69,4 +71,17 @@ public class SystemService {
               )
             ));
     }
+
+    public Publisher<Void> outboundQueues(HttpServerResponse res) {
+        JsonObject json = new JsonObject();
+        json.addProperty("total", outbound.getTotalQueueDepth());
+        JsonObject channels = new JsonObject();
+        outbound.getQueueDepths().forEach((id, depth) -> channels.addProperty(String.valueOf(id), depth));
+        json.add("channels", channels);
+
+        return res
+          .header(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN, "*")
+          .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+          .sendString(Mono.just(json.toString()));
+    }
 }
@@ -28,7 +28,9 @@ package uk.co.bjdavies.plugins;
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
+ * @deprecated plugin commands are run through {@link PluginCommandInvoker}.
  */
+@Deprecated
 public class PluginCommandExecutionBuilder {
     private String name;
 
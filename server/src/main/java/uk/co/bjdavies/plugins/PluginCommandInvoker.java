@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.plugins;
+
+import lombok.extern.log4j.Log4j2;
+import uk.co.bjdavies.api.command.ICommandContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * This is a plugin command method bound to its plugin instance, the method is looked up once when the plugin is
+ * loaded so running the command is a direct call without any reflection.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Log4j2
+public final class PluginCommandInvoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, ICommandContext.class);
+
+    private final MethodHandle handle;
+
+    private final String name;
+
+    private PluginCommandInvoker(MethodHandle handle, String name) {
+        this.handle = handle;
+        this.name = name;
+    }
+
+    /**
+     * This will bind a command method that takes a single {@link ICommandContext} to the plugin, static methods are
+     * not bound as they do not need an instance.
+     *
+     * @param pluginObj - The plugin instance.
+     * @param method    - The command method.
+     * @return PluginCommandInvoker
+     * @throws IllegalAccessException if the method cannot be accessed.
+     */
+    public static PluginCommandInvoker bind(Object pluginObj, Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(pluginObj);
+        }
+        return new PluginCommandInvoker(handle.asType(INVOKER_TYPE),
+                pluginObj.getClass().getName() + "#" + method.getName());
+    }
+
+    /**
+     * This will run the command.
+     *
+     * @param commandContext - The command context.
+     * @return Object - What the command returned, null for void commands or if the command threw an exception.
+     * @throws Error if the command threw an {@link Error} such as an {@link OutOfMemoryError}, these are not handled.
+     */
+    public Object invoke(ICommandContext commandContext) {
+        try {
+            return (Object) handle.invokeExact(commandContext);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            log.error("The module command: " + name + " did not execute correctly.", e);
+            return null;
+        }
+    }
+}
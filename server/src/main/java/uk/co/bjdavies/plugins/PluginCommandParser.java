@@ -29,6 +29,9 @@ import lombok.extern.log4j.Log4j2;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.command.*;
 import uk.co.bjdavies.api.plugins.IPluginSettings;
+import uk.co.bjdavies.command.CommandResponse;
+import uk.co.bjdavies.command.response.ResponseHandler;
+import uk.co.bjdavies.command.response.ResponseHandlerFactory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -63,6 +66,25 @@ public final class PluginCommandParser {
             if (method.isAnnotationPresent(Command.class)) {
                 if (Arrays.asList(method.getParameterTypes()).contains(ICommandContext.class) && method.getParameterTypes().length == 1) {
                     Command command = method.getAnnotation(Command.class);
+                    boolean isVoid = method.getReturnType() == void.class || method.getReturnType() == Void.class;
+                    ResponseHandler responseHandler = isVoid
+                            ? null
+                            : ResponseHandlerFactory.getHandler(method.getGenericReturnType());
+                    if (!isVoid && responseHandler == null) {
+                        log.error("Plugin command: " + pluginSettings.getName() + "#" + method.getName() +
+                                " is not supported, command will not be added please return a valid response type or use void and use commandContext.getCommandResponse()" +
+                                ".send(Data)");
+                        continue;
+                    }
+
+                    PluginCommandInvoker invoker;
+                    try {
+                        invoker = PluginCommandInvoker.bind(pluginObj, method);
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        log.error("Plugin command: " + pluginSettings.getName() + "#" + method.getName() +
+                                " cannot be accessed, command will not be added", e);
+                        continue;
+                    }
                     List<String> newAliases = new ArrayList<>(Arrays.asList(command.aliases()));
                     if (command.aliases().length == 0) {
                         newAliases.add(method.getName());
@@ -94,6 +116,11 @@ public final class PluginCommandParser {
                             return command.type();
                         }
 
+                        @Override
+                        public long getTimeout() {
+                            return command.timeout();
+                        }
+
                         @Override
                         public String run(IApplication application, ICommandContext commandContext) {
                             return "";
@@ -102,17 +129,14 @@ public final class PluginCommandParser {
 
                         @Override
                         public void exec(IApplication application, ICommandContext commandContext) {
-                            PluginCommandDefinition cd = new PluginCommandExecutionBuilder(method.getName(),
-                                    pluginObj.getClass()).setParameterTypes(ICommandContext.class)
-                                    .setArgs(commandContext).build();
-                            if (method.getReturnType().equals(Void.class)) {
-                                executePluginCommand(cd);
-                            } else {
-                                if (!commandContext.getCommandResponse().send(method.getGenericReturnType(), executePluginCommand(cd))) {
-                                    log.error("Plugin command: " + pluginSettings.getName() + "#" + method.getName() +
-                                            " is not supported, command will not run please return a valid response type or use void and use commandContext.getCommandResponse()" +
-                                            ".send(Data)");
-                                }
+                            Object response = invoker.invoke(commandContext);
+                            if (responseHandler != null && response != null) {
+                                sendResponse(commandContext, responseHandler, response);
+                            }
+
+                            ICommandResponse commandResponse = commandContext.getCommandResponse();
+                            if (commandResponse instanceof CommandResponse) {
+                                ((CommandResponse) commandResponse).completeIfEmpty();
                             }
                         }
 
@@ -140,6 +164,15 @@ public final class PluginCommandParser {
         return commands;
     }
 
+    private void sendResponse(ICommandContext commandContext, ResponseHandler responseHandler, Object response) {
+        ICommandResponse commandResponse = commandContext.getCommandResponse();
+        if (commandResponse instanceof CommandResponse) {
+            ((CommandResponse) commandResponse).send(responseHandler, response);
+        } else {
+            commandResponse.send(responseHandler.getType(), response);
+        }
+    }
+
     private boolean hasRequiredParams(ICommandContext commandContext, Method method) {
         AtomicBoolean isValid = new AtomicBoolean(true);
         Arrays.stream(method.getAnnotationsByType(CommandParam.class))
@@ -260,7 +293,10 @@ public final class PluginCommandParser {
      *
      * @param pluginCommandDefinition - This is the set of data that will be used to run the command.
      * @return Object
+     * @deprecated commands are bound to a {@link PluginCommandInvoker} when they are parsed, this looks the method up
+     * on every call.
      */
+    @Deprecated
     public Object executePluginCommand(PluginCommandDefinition pluginCommandDefinition) {
         Class<?> pluginClass = pluginCommandDefinition.getPluginClass();
         try {
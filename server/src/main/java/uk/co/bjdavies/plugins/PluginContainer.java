@@ -102,6 +102,7 @@ public class PluginContainer implements IPluginContainer {
                 PluginCommandParser commandParser = new PluginCommandParser(application, settings, obj);
                 application.getCommandDispatcher().addNamespace(settings.getNamespace(),
                         commandParser.parseCommands());
+                application.getVariableContainer().addAllFrom(name, obj);
                 log.info("Added plugin: " + settings.getName() + ", using namespace: \"" + settings.getNamespace() + "\"");
                 this.settings.put(name, settings);
                 plugins.put(name, obj);
@@ -155,6 +156,7 @@ public class PluginContainer implements IPluginContainer {
             if (o instanceof IPluginEvents) {
                 ((IPluginEvents) o).onShutdown();
             }
+            application.getVariableContainer().removeNamespace(name);
             plugins.remove(name);
         }
     }
@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.variables;
+
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import uk.co.bjdavies.api.variables.Variable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This is a variable field or function bound to the instance that holds it, it is looked up once when the variable
+ * is added to the {@link VariableContainer} so resolving it is a direct call without any reflection or allocation.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Log4j2
+public final class BoundVariable {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private static final int MAX_CACHED_ARGUMENTS = 256;
+
+    /**
+     * This is how long a variable that returned a {@link Mono} has to resolve before it is given up on.
+     */
+    static final Duration RESOLVE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MethodHandle handle;
+
+    private final String name;
+
+    private final Class<?>[] parameterTypes;
+
+    private final Duration ttl;
+
+    /**
+     * This is the cached value for each set of arguments, only used when the variable has a ttl.
+     */
+    private final Map<List<Object>, Mono<Object>> cache = new ConcurrentHashMap<>();
+
+    private BoundVariable(MethodHandle handle, String name, Class<?>[] parameterTypes, long ttlMillis) {
+        this.handle = handle;
+        this.name = name;
+        this.parameterTypes = parameterTypes;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    /**
+     * This will bind a variable function to its holder.
+     *
+     * @param holder - The instance that holds the method, this is ignored for static methods.
+     * @param method - The variable method.
+     * @return BoundVariable
+     * @throws IllegalAccessException if the method cannot be accessed.
+     */
+    public static BoundVariable bind(Object holder, Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(holder);
+        }
+        return new BoundVariable(handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE),
+                method.getDeclaringClass().getName() + "#" + method.getName(), method.getParameterTypes(),
+                getTtl(method));
+    }
+
+    /**
+     * This will bind a variable field to its holder.
+     *
+     * @param holder - The instance that holds the field, this is ignored for static fields.
+     * @param field  - The variable field.
+     * @return BoundVariable
+     * @throws IllegalAccessException if the field cannot be accessed.
+     */
+    public static BoundVariable bind(Object holder, Field field) throws IllegalAccessException {
+        field.setAccessible(true);
+        MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+        if (!Modifier.isStatic(field.getModifiers())) {
+            handle = handle.bindTo(holder);
+        }
+        return new BoundVariable(handle.asSpreader(Object[].class, 0).asType(INVOKER_TYPE),
+                field.getDeclaringClass().getName() + "#" + field.getName(), new Class<?>[0], 0);
+    }
+
+    /**
+     * This will return the parameter types of a variable function, empty for a field.
+     *
+     * @return Class[]
+     */
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes.clone();
+    }
+
+    private static long getTtl(Method method) {
+        Variable variable = method.getAnnotation(Variable.class);
+        return variable == null ? 0 : variable.ttl();
+    }
+
+    /**
+     * This will resolve the variable, waiting on it if the variable returned a {@link Mono}. The value is cached
+     * for each set of arguments if the variable has a ttl.
+     *
+     * @param args - The arguments of a variable function, empty for a field.
+     * @return Mono - The value, empty if the variable did not return anything or threw an exception, this will error
+     * with a {@link TimeoutException} if the variable did not resolve within {@link #RESOLVE_TIMEOUT}.
+     */
+    public Mono<Object> resolve(Object[] args) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return resolveNow(args);
+        }
+
+        List<Object> key = Arrays.asList(args);
+        Mono<Object> cached = cache.get(key);
+        if (cached == null) {
+            if (cache.size() >= MAX_CACHED_ARGUMENTS) {
+                cache.clear();
+            }
+            cached = cache.computeIfAbsent(key, k -> Mono.defer(() -> resolveNow(args))
+                    .cache(value -> ttl, e -> Duration.ZERO, () -> ttl));
+        }
+        return cached;
+    }
+
+    private Mono<Object> resolveNow(Object[] args) {
+        Object value = invoke(args);
+        if (value instanceof Mono) {
+            return ((Mono<?>) value)
+                    .<Object>map(v -> v)
+                    .timeout(RESOLVE_TIMEOUT)
+                    .onErrorResume(e -> {
+                        if (e instanceof TimeoutException) {
+                            log.warn("The variable: " + name + " did not resolve within " + RESOLVE_TIMEOUT);
+                            return Mono.error(e);
+                        }
+                        log.error("The variable: " + name + " did not resolve correctly.", e);
+                        return Mono.empty();
+                    });
+        }
+        return Mono.justOrEmpty(value);
+    }
+
+    /**
+     * This will return the value of the variable.
+     *
+     * @param args - The arguments of a variable function, empty for a field.
+     * @return Object - The value, null if the variable threw an exception.
+     */
+    public Object invoke(Object[] args) {
+        try {
+            return (Object) handle.invokeExact(args);
+        } catch (Throwable e) {
+            log.error("The variable: " + name + " did not resolve correctly.", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.variables;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This will split the arguments of a variable function and convert them to the parameter types of the method they
+ * are passed to, the arguments are checked before they are converted so no exceptions are thrown for bad input.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+final class VariableArguments {
+
+    private VariableArguments() {
+    }
+
+    /**
+     * This will split the arguments of a variable function e.g. add(1, 2) will return ["1", "2"].
+     *
+     * @param variable - The variable without the tags.
+     * @return String[] - The trimmed arguments, empty if the function has none.
+     */
+    static String[] parse(String variable) {
+        int start = variable.indexOf('(');
+        int end = variable.lastIndexOf(')');
+        if (start < 0 || end <= start) {
+            return new String[0];
+        }
+
+        String arguments = variable.substring(start + 1, end).trim();
+        if (arguments.isEmpty()) {
+            return new String[0];
+        }
+
+        List<String> parsed = new ArrayList<>();
+        int last = 0;
+        int index;
+        while ((index = arguments.indexOf(',', last)) >= 0) {
+            parsed.add(arguments.substring(last, index).trim());
+            last = index + 1;
+        }
+        parsed.add(arguments.substring(last).trim());
+        return parsed.toArray(new String[0]);
+    }
+
+    /**
+     * This will convert the arguments to the parameter types.
+     *
+     * @param arguments - The arguments from {@link #parse(String)}.
+     * @param types     - The parameter types of the method.
+     * @return Object[] - The converted arguments or null if they do not match the parameter types.
+     */
+    static Object[] convert(String[] arguments, Class<?>[] types) {
+        if (arguments.length != types.length) {
+            return null;
+        }
+
+        Object[] converted = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            converted[i] = convert(arguments[i], types[i]);
+            if (converted[i] == null) {
+                return null;
+            }
+        }
+        return converted;
+    }
+
+    private static Object convert(String argument, Class<?> type) {
+        if (type == String.class || type == Object.class || type == CharSequence.class) {
+            return argument;
+        }
+
+        if (type == boolean.class || type == Boolean.class) {
+            if (argument.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            }
+            return argument.equalsIgnoreCase("false") ? Boolean.FALSE : null;
+        }
+
+        if (type == char.class || type == Character.class) {
+            return argument.length() == 1 ? argument.charAt(0) : null;
+        }
+
+        if (type == int.class || type == Integer.class) {
+            Long value = parseInteger(argument, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            return value == null ? null : value.intValue();
+        }
+
+        if (type == long.class || type == Long.class) {
+            return parseInteger(argument, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        if (type == short.class || type == Short.class) {
+            Long value = parseInteger(argument, Short.MIN_VALUE, Short.MAX_VALUE);
+            return value == null ? null : value.shortValue();
+        }
+
+        if (type == float.class || type == Float.class) {
+            return isDecimal(argument) ? Float.parseFloat(argument) : null;
+        }
+
+        if (type == double.class || type == Double.class) {
+            return isDecimal(argument) ? Double.parseDouble(argument) : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * This will parse the argument as a whole number within the range of the parameter type.
+     *
+     * @param argument - The argument.
+     * @param min      - The smallest value of the parameter type.
+     * @param max      - The largest value of the parameter type.
+     * @return Long - The value or null if it is not a whole number or is out of range.
+     */
+    private static Long parseInteger(String argument, long min, long max) {
+        boolean negative = argument.startsWith("-");
+        int start = negative ? 1 : 0;
+        if (argument.length() == start) {
+            return null;
+        }
+
+        //This is worked out as a negative number so Long.MIN_VALUE can be parsed without overflowing.
+        long value = 0;
+        try {
+            for (int i = start; i < argument.length(); i++) {
+                int digit = Character.digit(argument.charAt(i), 10);
+                if (digit < 0) {
+                    return null;
+                }
+                value = Math.subtractExact(Math.multiplyExact(value, 10), digit);
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                return null;
+            }
+            value = -value;
+        }
+        return value < min || value > max ? null : value;
+    }
+
+    /**
+     * This checks the argument is a number with an optional decimal point e.g. 2, 2.5 or .5
+     *
+     * @param argument - The argument.
+     * @return boolean
+     */
+    private static boolean isDecimal(String argument) {
+        int start = argument.startsWith("-") ? 1 : 0;
+        boolean digit = false;
+        boolean point = false;
+        for (int i = start; i < argument.length(); i++) {
+            char c = argument.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (Character.isDigit(c)) {
+                digit = true;
+            } else {
+                return false;
+            }
+        }
+        return digit;
+    }
+}
@@ -29,10 +29,14 @@ import lombok.extern.log4j.Log4j2;
 import uk.co.bjdavies.api.variables.IVariableContainer;
 import uk.co.bjdavies.api.variables.Variable;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * BabbleBot, open-source Discord Bot
@@ -56,11 +60,34 @@ public class VariableContainer implements IVariableContainer {
 
 
     /**
-     * This is where the Maps get initialized with the HashMap implementation of Map.
+     * This is the Map for all the variables bound to their holder, this is what is used to resolve a variable.
+     */
+    private final Map<String, BoundVariable> boundVariables;
+
+
+    /**
+     * This is the one instance of each class that holds variables.
+     */
+    private final Map<Class<?>, Object> holders;
+
+
+    /**
+     * This is the variables of each plugin, plugin name to variable name to the bound variable. The variables of a
+     * plugin are published all at once as an unmodifiable map so lookups never need to lock.
+     */
+    private final Map<String, Map<String, BoundVariable>> namespaces;
+
+
+    /**
+     * This is where the Maps get initialized with the ConcurrentHashMap implementation of Map so variables can be
+     * resolved while plugins are loading.
      */
     public VariableContainer() {
-        variableFields = new HashMap<>();
-        variableMethods = new HashMap<>();
+        variableFields = new ConcurrentHashMap<>();
+        variableMethods = new ConcurrentHashMap<>();
+        boundVariables = new ConcurrentHashMap<>();
+        holders = new ConcurrentHashMap<>();
+        namespaces = new ConcurrentHashMap<>();
     }
 
 
@@ -75,7 +102,65 @@ public class VariableContainer implements IVariableContainer {
         }
 
         for (Field field : clazz.getFields()) {
-            if (field.isAnnotationPresent(Variable.class)) variableFields.put(field.getName(), field);
+            if (field.isAnnotationPresent(Variable.class)) addField(field.getName(), field);
+        }
+    }
+
+    /**
+     * This will add all the variables (@Variable.class) of a plugin under its namespace so they can be used as
+     * $(namespace.variable), the plugin instance is used as the holder of the variables. If the namespace already
+     * exists it is replaced and the cached templates are cleared so they do not keep the old variables.
+     *
+     * @param namespace - The name of the plugin.
+     * @param holder    - The plugin instance.
+     */
+    @Override
+    public void addAllFrom(String namespace, Object holder) {
+        Map<String, BoundVariable> variables = new HashMap<>();
+        for (Method method : holder.getClass().getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Variable.class)) {
+                bindTo(variables, namespace, method.getName(), () -> BoundVariable.bind(holder, method));
+            }
+        }
+
+        for (Field field : holder.getClass().getDeclaredFields()) {
+            if (field.isAnnotationPresent(Variable.class)) {
+                bindTo(variables, namespace, field.getName(), () -> BoundVariable.bind(holder, field));
+            }
+        }
+
+        Map<String, BoundVariable> previous = variables.isEmpty()
+                ? namespaces.remove(namespace)
+                : namespaces.put(namespace, Collections.unmodifiableMap(variables));
+        if (previous != null) {
+            VariableTemplate.clearCache();
+        }
+    }
+
+    private void bindTo(Map<String, BoundVariable> variables, String namespace, String name,
+                        VariableBinder binder) {
+        if (variables.containsKey(name)) {
+            log.error("The variable: " + namespace + "." + name + " is already in the container.");
+            return;
+        }
+
+        try {
+            variables.put(name, binder.bind());
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            log.error("Unable to add the variable: " + namespace + "." + name, e);
+        }
+    }
+
+    /**
+     * This will remove all the variables of a plugin, the cached templates are cleared as they hold on to the
+     * variables they were last resolved with and so would keep the plugin loaded.
+     *
+     * @param namespace - The name of the plugin.
+     */
+    @Override
+    public void removeNamespace(String namespace) {
+        if (namespaces.remove(namespace) != null) {
+            VariableTemplate.clearCache();
         }
     }
 
@@ -89,7 +174,17 @@ public class VariableContainer implements IVariableContainer {
         if (variableMethods.containsKey(name) || variableMethods.containsValue(method)) {
             log.error("The key or method is already in the container.");
         } else {
-            variableMethods.put(name, method);
+            Object holder = getHolder(method.getDeclaringClass(), method.getModifiers());
+            if (holder == null && !Modifier.isStatic(method.getModifiers())) {
+                return;
+            }
+
+            try {
+                boundVariables.put(name, BoundVariable.bind(holder, method));
+                variableMethods.put(name, method);
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                log.error("Unable to add the variable: " + name, e);
+            }
         }
     }
 
@@ -104,8 +199,43 @@ public class VariableContainer implements IVariableContainer {
         if (variableFields.containsKey(name) || variableFields.containsValue(field)) {
             log.error("The key or field is already in the container.");
         } else {
-            variableFields.put(name, field);
+            Object holder = getHolder(field.getDeclaringClass(), field.getModifiers());
+            if (holder == null && !Modifier.isStatic(field.getModifiers())) {
+                return;
+            }
+
+            try {
+                boundVariables.put(name, BoundVariable.bind(holder, field));
+                variableFields.put(name, field);
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                log.error("Unable to add the variable: " + name, e);
+            }
+        }
+    }
+
+    /**
+     * This will return the instance that holds the variables of the class, it is made the first time a class is
+     * added and then shared by all of its variables.
+     *
+     * @param clazz     - The class that declares the variable.
+     * @param modifiers - The modifiers of the variable, static variables do not need a holder.
+     * @return Object - The holder or null if it is not needed or cannot be made.
+     */
+    private Object getHolder(Class<?> clazz, int modifiers) {
+        if (Modifier.isStatic(modifiers)) {
+            return null;
         }
+
+        return holders.computeIfAbsent(clazz, c -> {
+            try {
+                Constructor<?> constructor = c.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                log.error("Unable to make an instance of: " + c.getName() + " to hold its variables.", e);
+                return null;
+            }
+        });
     }
 
     /**
@@ -116,8 +246,12 @@ public class VariableContainer implements IVariableContainer {
     public void remove(String name) {
         if (variableFields.containsKey(name)) {
             variableFields.remove(name);
+            boundVariables.remove(name);
+            VariableTemplate.clearCache();
         } else if (variableMethods.containsKey(name)) {
             variableMethods.remove(name);
+            boundVariables.remove(name);
+            VariableTemplate.clearCache();
         } else {
             log.error("The name specified cannot be found inside this container.");
         }
@@ -153,6 +287,22 @@ public class VariableContainer implements IVariableContainer {
         return null;
     }
 
+    /**
+     * This will return the variable bound to its holder, plugin variables are looked up with namespace.variable
+     *
+     * @param name - the name of the variable.
+     * @return BoundVariable - null if there is no variable with the name.
+     */
+    public BoundVariable getBoundVariable(String name) {
+        int dot = name.indexOf('.');
+        if (dot < 0) {
+            return boundVariables.get(name);
+        }
+
+        Map<String, BoundVariable> variables = namespaces.get(name.substring(0, dot));
+        return variables == null ? null : variables.get(name.substring(dot + 1));
+    }
+
     /**
      * This checks whether the variable exists in this container.
      *
@@ -160,9 +310,11 @@ public class VariableContainer implements IVariableContainer {
      * @return Boolean
      */
     public boolean exists(String name) {
-        if (variableFields.containsKey(name)) {
-            return true;
-        } else return variableMethods.containsKey(name);
+        return getBoundVariable(name) != null;
     }
 
+    @FunctionalInterface
+    private interface VariableBinder {
+        BoundVariable bind() throws IllegalAccessException;
+    }
 }
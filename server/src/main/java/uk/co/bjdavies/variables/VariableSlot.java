@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.variables;
+
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This is one variable inside of a {@link VariableTemplate}, its name and arguments are worked out when the template
+ * is compiled and the arguments are converted to the parameter types of the variable the first time it is bound, so
+ * rendering only has to look the variable up and call it.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+@Log4j2
+final class VariableSlot {
+
+    /**
+     * This is the variable as it was written without the tags e.g. getRandomGIF(2)
+     */
+    private final String variable;
+
+    private final String name;
+
+    private final boolean function;
+
+    private final String[] arguments;
+
+    /**
+     * This is the variable this slot was last resolved with and the arguments converted for it.
+     */
+    private volatile Binding binding;
+
+    private VariableSlot(String variable, String name, boolean function, String[] arguments) {
+        this.variable = variable;
+        this.name = name;
+        this.function = function;
+        this.arguments = arguments;
+    }
+
+    /**
+     * This will compile a variable found in a command response.
+     *
+     * @param variable - The variable without the tags e.g. testVar or getRandomGIF(2)
+     * @return VariableSlot
+     */
+    static VariableSlot compile(String variable) {
+        if (!variable.contains("(") || !variable.contains(")")) {
+            return new VariableSlot(variable, variable, false, new String[0]);
+        }
+
+        String name = variable.substring(0, variable.indexOf("(")).trim();
+        return new VariableSlot(variable, name, true, VariableArguments.parse(variable));
+    }
+
+    /**
+     * This will return the value of the variable or the variable itself if it cannot be resolved or does not
+     * resolve in time.
+     *
+     * @param container - The container the variable is resolved from.
+     * @return Mono - The value of the variable.
+     */
+    Mono<String> resolve(VariableContainer container) {
+        BoundVariable bound = container.getBoundVariable(name);
+        if (bound == null) {
+            return Mono.just(variable);
+        }
+
+        Binding current = binding;
+        if (current == null || current.variable != bound) {
+            current = new Binding(bound, VariableArguments.convert(arguments, bound.getParameterTypes()));
+            binding = current;
+            if (current.arguments == null) {
+                log.warn("The arguments " + Arrays.toString(arguments) + " of variable: " + variable
+                        + " do not match its parameters " + Arrays.toString(bound.getParameterTypes()));
+            }
+        }
+
+        if (current.arguments == null) {
+            return Mono.just(variable);
+        }
+
+        return bound.resolve(current.arguments)
+                .map(Object::toString)
+                .defaultIfEmpty(function ? variable : "null")
+                .onErrorResume(TimeoutException.class, e -> Mono.just(variable));
+    }
+
+    private static final class Binding {
+        private final BoundVariable variable;
+
+        private final Object[] arguments;
+
+        private Binding(BoundVariable variable, Object[] arguments) {
+            this.variable = variable;
+            this.arguments = arguments;
+        }
+    }
+}
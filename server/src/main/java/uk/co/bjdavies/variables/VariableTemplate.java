@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.variables;
+
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This is a command response that has been split up into literal text and variable slots, so it only needs to be
+ * parsed once and can then be rendered with one pass over its segments.
+ * <p>
+ * Compiled templates are kept in a bounded LRU cache keyed by the raw response, see {@link #of(String)}.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+public final class VariableTemplate {
+
+    /**
+     * This is the same syntax as the {@link DollarSignStrategy} e.g. $(testVar) or $(getRandomGIF(2)), names can
+     * use letters, digits, '_' and '-' so plugin names such as my-plugin work e.g. $(my-plugin.some_var).
+     */
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\(([\\p{L}\\p{N}_\\-()., ]+)\\)");
+
+    private static final String VARIABLE_START = "$(";
+
+    private static final int CACHE_SIZE = 512;
+
+    private static final int SLOT_LENGTH_HINT = 16;
+
+    private static final Map<String, VariableTemplate> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, VariableTemplate>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VariableTemplate> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private final String[] literals;
+
+    private final VariableSlot[] slots;
+
+    private final int lengthHint;
+
+    private VariableTemplate(String[] literals, VariableSlot[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = slots.length * SLOT_LENGTH_HINT;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.lengthHint = length;
+    }
+
+    /**
+     * This will return the compiled template for the response, using the cache when it has been compiled before.
+     * Responses without any variables are not cached as they do not need compiling.
+     *
+     * @param response - The raw command response.
+     * @return VariableTemplate
+     */
+    public static VariableTemplate of(String response) {
+        if (!response.contains(VARIABLE_START)) {
+            return new VariableTemplate(new String[]{response}, new VariableSlot[0]);
+        }
+
+        VariableTemplate template = CACHE.get(response);
+        if (template == null) {
+            template = compile(response);
+            CACHE.put(response, template);
+        }
+        return template;
+    }
+
+    /**
+     * This will throw away all the cached templates, this is needed when variables are removed as each slot holds on
+     * to the variable it was last resolved with.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * This will split the response into its literal text and variable slots.
+     *
+     * @param response - The raw command response.
+     * @return VariableTemplate
+     */
+    public static VariableTemplate compile(String response) {
+        List<String> literals = new ArrayList<>();
+        List<VariableSlot> slots = new ArrayList<>();
+        Matcher matcher = VARIABLE_PATTERN.matcher(response);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(response.substring(last, matcher.start()));
+            slots.add(VariableSlot.compile(matcher.group(1)));
+            last = matcher.end();
+        }
+        literals.add(response.substring(last));
+
+        return new VariableTemplate(literals.toArray(new String[0]), slots.toArray(new VariableSlot[0]));
+    }
+
+    /**
+     * This will render the template, a variable that cannot be resolved is left as its name without the tags.
+     * <p>
+     * This will block until asynchronous variables have resolved, use {@link #renderAsync(VariableContainer)} in
+     * reactive code.
+     * </p>
+     *
+     * @param container - The container the variables are resolved from.
+     * @return String
+     */
+    public String render(VariableContainer container) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        return renderAsync(container).block();
+    }
+
+    /**
+     * This will render the template once all of its variables have resolved, the variables are resolved at the same
+     * time.
+     *
+     * @param container - The container the variables are resolved from.
+     * @return Mono - The rendered template.
+     */
+    public Mono<String> renderAsync(VariableContainer container) {
+        if (slots.length == 0) {
+            return Mono.just(literals[0]);
+        }
+
+        List<Mono<String>> values = new ArrayList<>(slots.length);
+        for (VariableSlot slot : slots) {
+            values.add(slot.resolve(container));
+        }
+
+        return Mono.zip(values, resolved -> {
+            StringBuilder sb = new StringBuilder(lengthHint);
+            for (int i = 0; i < slots.length; i++) {
+                sb.append(literals[i]).append(resolved[i]);
+            }
+            return sb.append(literals[slots.length]).toString();
+        });
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.discord;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+class ChannelBucketTest {
+
+    private static final long WINDOW_NANOS = 5000 * 1_000_000L;
+
+    @Test
+    void tryAcquirePacesToTheLimit() {
+        ChannelBucket bucket = new ChannelBucket(5, 5000);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+
+        long wait = bucket.tryAcquire(now);
+        assertTrue(wait > 0 && wait <= WINDOW_NANOS, "Expected to wait for the window but waited: " + wait);
+        assertEquals(wait - 1000, bucket.tryAcquire(now + 1000));
+    }
+
+    @Test
+    void tryAcquireRefillsAfterTheWindow() {
+        ChannelBucket bucket = new ChannelBucket(2, 5000);
+        long now = System.nanoTime();
+
+        bucket.tryAcquire(now);
+        bucket.tryAcquire(now);
+        long wait = bucket.tryAcquire(now);
+
+        assertEquals(0, bucket.tryAcquire(now + wait));
+        assertEquals(0, bucket.tryAcquire(now + wait));
+        assertTrue(bucket.tryAcquire(now + wait) > 0);
+    }
+
+    @Test
+    void updateTakesRemainingAndResetFromHeaders() {
+        ChannelBucket bucket = new ChannelBucket(5, 5000);
+        long now = System.nanoTime();
+        bucket.tryAcquire(now);
+
+        HttpHeaders headers = new DefaultHttpHeaders()
+                .add("X-RateLimit-Remaining", "0")
+                .add("X-RateLimit-Reset-After", "2.5");
+        bucket.update(headers);
+
+        long wait = bucket.tryAcquire(System.nanoTime());
+        assertTrue(wait > 2_000_000_000L && wait <= 2_500_000_000L, "Expected to wait about 2.5s but waited: " + wait);
+    }
+
+    @Test
+    void updateEmptiesTheBucketOnRetryAfter() {
+        ChannelBucket bucket = new ChannelBucket(5, 5000);
+        bucket.tryAcquire(System.nanoTime());
+
+        bucket.update(new DefaultHttpHeaders().add("Retry-After", "1"));
+
+        assertTrue(bucket.tryAcquire(System.nanoTime()) > 0);
+    }
+
+    @Test
+    void updateIgnoresMalformedHeaders() {
+        ChannelBucket bucket = new ChannelBucket(5, 5000);
+        long now = System.nanoTime();
+        bucket.tryAcquire(now);
+
+        bucket.update(new DefaultHttpHeaders()
+                .add("X-RateLimit-Remaining", "lots")
+                .add("X-RateLimit-Reset-After", "soon"));
+
+        assertEquals(0, bucket.tryAcquire(now));
+    }
+
+    @Test
+    void isRefilledOnceTheWindowHasPassed() {
+        ChannelBucket bucket = new ChannelBucket(5, 5000);
+        long now = System.nanoTime();
+        bucket.tryAcquire(now);
+
+        assertTrue(!bucket.isRefilled(now));
+        assertTrue(bucket.isRefilled(now + WINDOW_NANOS));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.discord;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.1.7
+ */
+class OutboundMessageDispatcherTest {
+
+    private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    private OutboundMessageDispatcher dispatcher;
+
+    @AfterEach
+    void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void sendReturnsTheResultOfTheRequest() {
+        dispatcher = new OutboundMessageDispatcher(10, Duration.ofSeconds(5));
+
+        assertEquals("sent", dispatcher.send(1L, Mono.just("sent")).block(BLOCK_TIMEOUT));
+        assertDrained(1L);
+    }
+
+    @Test
+    void sendRejectsOnceTheQueueIsFull() {
+        dispatcher = new OutboundMessageDispatcher(2, Duration.ofMinutes(1));
+
+        dispatcher.send(1L, Mono.never()).subscribe();
+        dispatcher.send(1L, Mono.never()).subscribe();
+
+        assertEquals(2, dispatcher.getQueueDepth(1L));
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> dispatcher.send(1L, Mono.just("sent")).block(BLOCK_TIMEOUT));
+        assertTrue(e instanceof RejectedExecutionException, "Expected a rejection but got: " + e);
+        assertEquals(2, dispatcher.getQueueDepth(1L));
+    }
+
+    @Test
+    void sendOnlyLimitsTheChannelThatIsFull() {
+        dispatcher = new OutboundMessageDispatcher(1, Duration.ofMinutes(1));
+
+        dispatcher.send(1L, Mono.never()).subscribe();
+
+        assertEquals("sent", dispatcher.send(2L, Mono.just("sent")).block(BLOCK_TIMEOUT));
+        assertEquals(1, dispatcher.getTotalQueueDepth());
+    }
+
+    @Test
+    void stuckSendTimesOutAndFreesTheQueue() {
+        dispatcher = new OutboundMessageDispatcher(10, Duration.ofMillis(100));
+
+        Mono<String> stuck = dispatcher.send(1L, Mono.never());
+        Mono<String> next = dispatcher.send(1L, Mono.just("sent"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> stuck.block(BLOCK_TIMEOUT));
+        assertTrue(e.getCause() instanceof TimeoutException, "Expected a timeout but got: " + e);
+        assertEquals("sent", next.block(BLOCK_TIMEOUT));
+        assertDrained(1L);
+    }
+
+    /**
+     * The depth is lowered just after the caller gets its result so this will give the queue a moment to catch up.
+     */
+    private void assertDrained(long channelId) {
+        long deadline = System.nanoTime() + BLOCK_TIMEOUT.toNanos();
+        while (dispatcher.getQueueDepth(channelId) != 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(0, dispatcher.getQueueDepth(channelId));
+    }
+}